@@ -0,0 +1,192 @@
+package com.example.build;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 靜態資源建置流程（打包前執行）
+ * 1. js/、css/ 下的檔案依內容雜湊複製為 assets/js/app.3f2a1b9c0d.js 形式的檔名
+ * 2. 以原始碼目錄的 HTML 為準，將 src/href 中的資源路徑改為雜湊後的檔名
+ * 3. 雜湊後的資源與 HTML 另外產生 .gz 與 .br 預先壓縮檔（壓縮後較小時才保留）
+ *
+ * 伺服器端由 StaticResourceConfig 對 /assets/** 回傳一年 immutable 快取，HTML 每次重新驗證；
+ * 未經此流程（例如 mvn spring-boot:run）時 HTML 仍引用原始檔名，行為與過去相同
+ *
+ * 參數：source=原始靜態資源目錄 target=輸出目錄（target/classes/static）
+ */
+public class StaticAssetPipeline {
+
+    static final String ASSETS_DIRECTORY = "assets";
+
+    private static final List<String> FINGERPRINTED_DIRECTORIES = List.of("js", "css");
+    private static final int HASH_LENGTH = 10;
+    private static final int BROTLI_QUALITY = 11;
+
+    private final Path source;
+    private final Path target;
+
+    StaticAssetPipeline(Path source, Path target) {
+        this.source = source;
+        this.target = target;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path source = Path.of("src", "main", "resources", "static");
+        Path target = Path.of("target", "classes", "static");
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("參數格式應為 key=value：" + arg);
+            }
+            String key = arg.substring(0, separator).trim();
+            String value = arg.substring(separator + 1).trim();
+            switch (key) {
+                case "source" -> source = Path.of(value);
+                case "target" -> target = Path.of(value);
+                default -> throw new IllegalArgumentException("不支援的參數：" + key);
+            }
+        }
+        Brotli4jLoader.ensureAvailability();
+        new StaticAssetPipeline(source, target).run();
+    }
+
+    void run() throws IOException {
+        Path assets = target.resolve(ASSETS_DIRECTORY);
+        deleteRecursively(assets);
+
+        // 原始路徑（相對於靜態資源根目錄）→ 雜湊後路徑
+        Map<String, String> fingerprints = new LinkedHashMap<>();
+        long originalBytes = 0;
+        long brotliBytes = 0;
+        for (String directory : FINGERPRINTED_DIRECTORIES) {
+            Path dir = source.resolve(directory);
+            if (!Files.isDirectory(dir)) {
+                continue;
+            }
+            for (Path file : listFiles(dir)) {
+                String relative = source.relativize(file).toString().replace('\\', '/');
+                byte[] content = Files.readAllBytes(file);
+                String hashed = ASSETS_DIRECTORY + "/" + fingerprint(relative, content);
+                Path output = target.resolve(hashed);
+                Files.createDirectories(output.getParent());
+                Files.write(output, content);
+                originalBytes += content.length;
+                brotliBytes += precompress(output, content);
+                fingerprints.put(relative, hashed);
+            }
+        }
+
+        int pages = 0;
+        for (Path page : listFiles(source)) {
+            if (!page.getFileName().toString().endsWith(".html")) {
+                continue;
+            }
+            String html = rewriteReferences(Files.readString(page, StandardCharsets.UTF_8), fingerprints);
+            byte[] content = html.getBytes(StandardCharsets.UTF_8);
+            Path output = target.resolve(source.relativize(page));
+            Files.write(output, content);
+            precompress(output, content);
+            pages++;
+        }
+
+        System.out.println("📦 靜態資源：" + fingerprints.size() + " 個檔案加上內容雜湊，" + pages + " 個頁面更新引用，"
+                + originalBytes + " → " + brotliBytes + " bytes（brotli）");
+    }
+
+    /**
+     * js/app.js → js/app.3f2a1b9c0d.js
+     */
+    static String fingerprint(String relative, byte[] content) {
+        String hash = HexFormat.of().formatHex(sha256(content)).substring(0, HASH_LENGTH);
+        int dot = relative.lastIndexOf('.');
+        int slash = relative.lastIndexOf('/');
+        if (dot <= slash) {
+            return relative + "." + hash;
+        }
+        return relative.substring(0, dot) + "." + hash + relative.substring(dot);
+    }
+
+    /**
+     * 將 src="js/app.js"、href="/css/style.css" 等引用改為雜湊後的路徑（保留開頭的 / 與查詢字串）
+     */
+    static String rewriteReferences(String html, Map<String, String> fingerprints) {
+        String result = html;
+        for (Map.Entry<String, String> entry : fingerprints.entrySet()) {
+            Pattern pattern = Pattern.compile("((?:src|href)\\s*=\\s*[\"'])(/?)" + Pattern.quote(entry.getKey())
+                    + "(?=[\"'?#])");
+            result = pattern.matcher(result)
+                    .replaceAll("$1$2" + Matcher.quoteReplacement(entry.getValue()));
+        }
+        return result;
+    }
+
+    /**
+     * 產生 .gz 與 .br，回傳 brotli 壓縮後（或未壓縮）的大小
+     */
+    private static long precompress(Path file, byte[] content) throws IOException {
+        byte[] gzip = gzip(content);
+        if (gzip.length < content.length) {
+            Files.write(file.resolveSibling(file.getFileName() + ".gz"), gzip);
+        }
+        byte[] brotli = Encoder.compress(content, new Encoder.Parameters().setQuality(BROTLI_QUALITY));
+        if (brotli.length < content.length) {
+            Files.write(file.resolveSibling(file.getFileName() + ".br"), brotli);
+            return brotli.length;
+        }
+        return content.length;
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(content.length / 2 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(content);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static byte[] sha256(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<Path> listFiles(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return new ArrayList<>(files.filter(Files::isRegularFile).sorted().toList());
+        }
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted((a, b) -> b.getNameCount() - a.getNameCount()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
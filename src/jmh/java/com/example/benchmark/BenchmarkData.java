@@ -0,0 +1,50 @@
+package com.example.benchmark;
+
+import com.example.entity.Money;
+import com.example.entity.Order;
+import com.example.entity.OrderItem;
+import com.example.entity.Product;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 不需資料庫的基準測試資料
+ */
+final class BenchmarkData {
+
+    private static final String[] CATEGORIES = {"電子產品", "服飾", "家居用品", "書籍", "美妝保養"};
+
+    private BenchmarkData() {
+    }
+
+    static List<Product> products(int count) {
+        List<Product> products = new ArrayList<>(count);
+        LocalDateTime now = LocalDateTime.of(2025, 10, 1, 12, 0);
+        for (int i = 1; i <= count; i++) {
+            Product product = new Product("測試商品 " + i, CATEGORIES[i % CATEGORIES.length],
+                    Money.ofCents((99 + i * 37L) * 100 + 50), "基準測試用商品描述 " + i);
+            product.setId((long) i);
+            product.setStockQuantity(100 + i);
+            product.setIsActive(true);
+            product.setCreatedAt(now.minusDays(i));
+            product.setUpdatedAt(now);
+            products.add(product);
+        }
+        return products;
+    }
+
+    static Order order(long id, List<Product> products) {
+        Order order = new Order("王小明", "ming@example.com", "0912-345-678", "台北市信義區市府路1號", Money.ZERO);
+        order.setId(id);
+        order.setOrderDate(LocalDateTime.of(2025, 10, 1, 12, 0).minusHours(id));
+        for (int i = 0; i < products.size(); i++) {
+            Product product = products.get(i);
+            OrderItem item = new OrderItem(order, product, 1 + i % 3, product.getPrice());
+            item.setId(id * 100 + i);
+            order.addOrderItem(item);
+        }
+        return order;
+    }
+}
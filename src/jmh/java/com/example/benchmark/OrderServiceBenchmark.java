@@ -0,0 +1,66 @@
+package com.example.benchmark;
+
+import com.example.entity.Order;
+import com.example.entity.Product;
+import com.example.service.OrderService;
+import com.example.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 建立訂單（含庫存扣減、訂單事件與每日銷售彙總更新）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderServiceBenchmark {
+
+    private OrderService orderService;
+    private ProductService productService;
+    private Map<Long, Integer> cartItems;
+
+    @Setup
+    public void setUp(ApplicationState application) {
+        orderService = application.getBean(OrderService.class);
+        productService = application.getBean(ProductService.class);
+
+        List<Product> products = productService.findActiveProducts();
+        cartItems = new LinkedHashMap<>();
+        for (Product product : products.subList(0, 3)) {
+            cartItems.put(product.getId(), 1);
+        }
+    }
+
+    /**
+     * 每輪量測前補足庫存，避免庫存耗盡導致下單失敗
+     */
+    @Setup(Level.Iteration)
+    public void restock() {
+        for (Long productId : cartItems.keySet()) {
+            productService.updateStock(productId, 10_000_000);
+        }
+    }
+
+    @Benchmark
+    public Order createOrder() {
+        return orderService.createOrder("效能測試", "bench@example.com", "0912-345-678",
+                "台北市信義區", cartItems, null);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.benchmark;
+
+import com.example.entity.Money;
+import com.example.entity.Order;
+import com.example.entity.OrderItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 訂單項目小計（OrderItem.getSubtotal）與訂單總額累加（以分為單位的 long，與結帳相同）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderTotalBenchmark {
+
+    @Param({"3", "20", "100"})
+    public int itemCount;
+
+    private List<OrderItem> items;
+
+    @Setup
+    public void setUp() {
+        Order order = BenchmarkData.order(1, BenchmarkData.products(itemCount));
+        items = order.getOrderItems();
+    }
+
+    @Benchmark
+    public Money subtotal() {
+        return items.get(0).getSubtotal();
+    }
+
+    @Benchmark
+    public long accumulateLoop() {
+        long totalCents = 0;
+        for (OrderItem item : items) {
+            totalCents = Math.addExact(totalCents, item.getSubtotalCents());
+        }
+        return totalCents;
+    }
+
+    @Benchmark
+    public Money accumulateStream() {
+        return items.stream().map(OrderItem::getSubtotal).reduce(Money.ZERO, Money::plus);
+    }
+}
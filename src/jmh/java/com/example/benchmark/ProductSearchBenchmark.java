@@ -0,0 +1,49 @@
+package com.example.benchmark;
+
+import com.example.entity.Product;
+import com.example.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 前台商品搜尋（分類、關鍵字、分類加關鍵字、不限條件）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductSearchBenchmark {
+
+    @Param({"all", "category", "name", "category+name"})
+    public String filter;
+
+    private ProductService productService;
+    private String category;
+    private String name;
+
+    @Setup
+    public void setUp(ApplicationState application) {
+        productService = application.getBean(ProductService.class);
+        category = filter.contains("category") ? "電子產品" : null;
+        name = filter.contains("name") ? "pro" : null;
+    }
+
+    @Benchmark
+    public List<Product> searchActiveProducts() {
+        return productService.searchActiveProducts(category, name);
+    }
+}
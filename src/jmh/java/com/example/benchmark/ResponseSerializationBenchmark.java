@@ -0,0 +1,73 @@
+package com.example.benchmark;
+
+import com.example.entity.Order;
+import com.example.entity.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ApiController 回應格式（HashMap 包裝 success/data）的 JSON 序列化
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private Map<String, Object> productsResponse;
+    private Map<String, Object> ordersResponse;
+
+    @Setup
+    public void setUp() {
+        // 與 Spring MVC 預設的 ObjectMapper 設定相同
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<Product> products = BenchmarkData.products(25);
+        productsResponse = new HashMap<>();
+        productsResponse.put("success", true);
+        productsResponse.put("data", products);
+        productsResponse.put("categories", List.of("電子產品", "服飾", "家居用品", "書籍", "美妝保養"));
+        productsResponse.put("total", products.size());
+
+        List<Order> orders = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            orders.add(BenchmarkData.order(id, products.subList(0, 3)));
+        }
+        ordersResponse = new HashMap<>();
+        ordersResponse.put("success", true);
+        ordersResponse.put("data", orders);
+        ordersResponse.put("nextCursor", "2025-10-01T00:00_20");
+        ordersResponse.put("hasMore", true);
+        ordersResponse.put("total", 1000);
+        ordersResponse.put("totalApproximate", false);
+    }
+
+    @Benchmark
+    public byte[] productList() throws Exception {
+        return objectMapper.writeValueAsBytes(productsResponse);
+    }
+
+    @Benchmark
+    public byte[] orderPage() throws Exception {
+        return objectMapper.writeValueAsBytes(ordersResponse);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.loadtest;
+
+import com.example.entity.Money;
+import com.example.entity.Product;
+import com.example.repository.ProductRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 建立壓力測試用的商品目錄（庫存充足，避免下單因缺貨失敗）
+ */
+public class CatalogSeeder {
+
+    static final String[] CATEGORIES = {"電子產品", "服飾", "家居用品", "書籍", "美妝保養"};
+    static final String[][] NOUNS = {
+            {"耳機", "手機", "筆電", "平板", "喇叭"},
+            {"T恤", "外套", "牛仔褲", "洋裝", "運動鞋"},
+            {"檯燈", "沙發", "收納箱", "抱枕", "餐桌"},
+            {"小說", "食譜", "童書", "字典", "畫冊"},
+            {"面霜", "精華液", "口紅", "防曬乳", "洗面乳"}};
+    static final String[] ADJECTIVES = {"經典", "輕量", "豪華", "限定", "入門", "專業", "復古", "簡約"};
+
+    private static final int BATCH_SIZE = 500;
+    private static final int STOCK = 10_000_000;
+
+    private final ProductRepository productRepository;
+    private final Random random = new Random(42);
+
+    public CatalogSeeder(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    public void seed(int count) {
+        List<Product> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < count; i++) {
+            int category = random.nextInt(CATEGORIES.length);
+            String noun = NOUNS[category][random.nextInt(NOUNS[category].length)];
+            String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + noun + " " + (i + 1);
+            Product product = new Product(name, CATEGORIES[category],
+                    Money.of(100 + random.nextInt(50_000)), "壓力測試商品 " + (i + 1));
+            product.setStockQuantity(STOCK);
+            batch.add(product);
+            if (batch.size() == BATCH_SIZE) {
+                productRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            productRepository.saveAll(batch);
+        }
+
+        // 預設商品也補足庫存
+        List<Product> initial = productRepository.findAll().stream()
+                .filter(product -> product.getStockQuantity() < STOCK)
+                .toList();
+        initial.forEach(product -> product.setStockQuantity(STOCK));
+        productRepository.saveAll(initial);
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 開放模型負載產生器
+ * 請求依指數分布的間隔（Poisson 到達）送出，不等待前一個回應；
+ * 延遲由「預定送出時間」起算，伺服器變慢時排隊時間也會反映在延遲中
+ */
+public class LoadGenerator {
+
+    private static final int PHONE_POOL_SIZE = 2000;
+
+    private final LoadTestOptions options;
+    private final URI baseUri;
+    private final long[] productIds;
+    private final HttpClient httpClient;
+    private final Semaphore inFlight;
+    private final Scenario[] scenarios;
+    private final int[] cumulativeWeights;
+    private final Map<Scenario, ScenarioStats> stats = new EnumMap<>(Scenario.class);
+
+    public LoadGenerator(LoadTestOptions options, URI baseUri, long[] productIds) {
+        this.options = options;
+        this.baseUri = baseUri;
+        this.productIds = productIds;
+        this.httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.inFlight = new Semaphore(options.maxInFlight());
+
+        List<Scenario> enabled = new ArrayList<>();
+        List<Integer> cumulative = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<Scenario, Integer> entry : options.mix().entrySet()) {
+            if (entry.getValue() > 0) {
+                total += entry.getValue();
+                enabled.add(entry.getKey());
+                cumulative.add(total);
+                stats.put(entry.getKey(), new ScenarioStats());
+            }
+        }
+        if (enabled.isEmpty()) {
+            throw new IllegalArgumentException("至少需要一個權重大於0的情境");
+        }
+        this.scenarios = enabled.toArray(Scenario[]::new);
+        this.cumulativeWeights = cumulative.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * 執行暖機與量測，回傳各情境統計（只含量測期間的請求）
+     */
+    public Map<Scenario, ScenarioStats> run() throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+
+        long start = System.nanoTime();
+        long measureStart = start + TimeUnit.SECONDS.toNanos(options.warmupSeconds());
+        long end = measureStart + TimeUnit.SECONDS.toNanos(options.durationSeconds());
+        long nextArrival = start;
+
+        while (nextArrival < end) {
+            long wait = nextArrival - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Scenario scenario = pickScenario(random);
+            boolean measured = nextArrival >= measureStart;
+            dispatch(scenario, nextArrival, measured);
+            // 指數分布的到達間隔
+            nextArrival += (long) (-Math.log(1 - random.nextDouble()) * meanIntervalNanos);
+        }
+
+        // 等待所有進行中的請求結束
+        inFlight.acquire(options.maxInFlight());
+        inFlight.release(options.maxInFlight());
+        return stats;
+    }
+
+    private void dispatch(Scenario scenario, long intendedStart, boolean measured) {
+        ScenarioStats scenarioStats = stats.get(scenario);
+        if (!inFlight.tryAcquire()) {
+            if (measured) {
+                scenarioStats.recordDropped();
+            }
+            return;
+        }
+        execute(scenario).whenComplete((ok, error) -> {
+            long latency = System.nanoTime() - intendedStart;
+            inFlight.release();
+            if (!measured) {
+                return;
+            }
+            if (error == null && ok) {
+                scenarioStats.recordSuccess(latency);
+            } else {
+                scenarioStats.recordError(latency);
+            }
+        });
+    }
+
+    private CompletableFuture<Boolean> execute(Scenario scenario) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (scenario) {
+            case BROWSE -> send(get("/api/products"));
+            case SEARCH -> {
+                int category = random.nextInt(CatalogSeeder.CATEGORIES.length);
+                String noun = CatalogSeeder.NOUNS[category][random.nextInt(CatalogSeeder.NOUNS[category].length)];
+                String query = random.nextBoolean()
+                        ? "search=" + encode(noun)
+                        : "category=" + encode(CatalogSeeder.CATEGORIES[category]) + "&search=" + encode(noun);
+                yield send(get("/api/products?" + query));
+            }
+            case CART_CHECK -> {
+                int items = 1 + random.nextInt(4);
+                List<CompletableFuture<Boolean>> checks = new ArrayList<>(items);
+                for (int i = 0; i < items; i++) {
+                    checks.add(send(get("/api/products/" + randomProductId(random))));
+                }
+                yield CompletableFuture.allOf(checks.toArray(CompletableFuture[]::new))
+                        .thenApply(ignored -> checks.stream().allMatch(CompletableFuture::join));
+            }
+            case CHECKOUT -> {
+                StringBuilder cart = new StringBuilder();
+                int items = 1 + random.nextInt(3);
+                for (int i = 0; i < items; i++) {
+                    if (i > 0) {
+                        cart.append(',');
+                    }
+                    cart.append('"').append(randomProductId(random)).append("\":").append(1 + random.nextInt(2));
+                }
+                String body = "{\"customerName\":\"壓力測試\",\"customerEmail\":\"load@example.com\"," +
+                        "\"customerPhone\":\"" + randomPhone(random) + "\",\"customerAddress\":\"台北市信義區\"," +
+                        "\"cartItems\":{" + cart + "}}";
+                yield send(HttpRequest.newBuilder(baseUri.resolve("/api/orders"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build());
+            }
+            case ORDER_LOOKUP -> send(get("/api/orders/customer?phone=" + randomPhone(random)));
+            case DASHBOARD -> send(get("/api/admin/dashboard"));
+        };
+    }
+
+    private CompletableFuture<Boolean> send(HttpRequest request) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .thenApply(response -> response.statusCode() < 400);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private Scenario pickScenario(ThreadLocalRandom random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return scenarios[i];
+            }
+        }
+        return scenarios[scenarios.length - 1];
+    }
+
+    private long randomProductId(ThreadLocalRandom random) {
+        return productIds[random.nextInt(productIds.length)];
+    }
+
+    /**
+     * 客戶電話取自固定號碼池，查詢時才會命中先前建立的訂單
+     */
+    private static String randomPhone(ThreadLocalRandom random) {
+        return String.format("09%08d", random.nextInt(PHONE_POOL_SIZE));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.loadtest;
+
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 壓力測試參數（以 key=value 形式傳入）
+ *
+ * @param rate 每秒到達的請求數（開放模型，不受回應時間影響）
+ * @param durationSeconds 量測時間（秒）
+ * @param warmupSeconds 暖機時間（秒），期間的請求不計入結果
+ * @param catalogSize 額外建立的商品數
+ * @param maxInFlight 同時進行中的請求上限，超過時該次請求記為丟棄
+ * @param mix 各情境的權重
+ * @param output JSON 結果輸出路徑
+ */
+public record LoadTestOptions(double rate, int durationSeconds, int warmupSeconds, int catalogSize,
+                              int maxInFlight, Map<Scenario, Integer> mix, Path output) {
+
+    public static LoadTestOptions parse(String[] args) {
+        double rate = 100;
+        int duration = 60;
+        int warmup = 10;
+        int products = 1000;
+        int maxInFlight = 1000;
+        Map<Scenario, Integer> mix = Scenario.defaultMix();
+        Path output = Path.of("target", "loadtest-result.json");
+
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("參數格式應為 key=value：" + arg);
+            }
+            String key = arg.substring(0, separator).trim();
+            String value = arg.substring(separator + 1).trim();
+            switch (key) {
+                case "rate" -> rate = Double.parseDouble(value);
+                case "duration" -> duration = Integer.parseInt(value);
+                case "warmup" -> warmup = Integer.parseInt(value);
+                case "products" -> products = Integer.parseInt(value);
+                case "maxInFlight" -> maxInFlight = Integer.parseInt(value);
+                case "mix" -> mix = parseMix(value);
+                case "output" -> output = Path.of(value);
+                default -> throw new IllegalArgumentException("不支援的參數：" + key);
+            }
+        }
+        if (rate <= 0 || duration <= 0 || warmup < 0 || products < 0 || maxInFlight <= 0) {
+            throw new IllegalArgumentException("rate、duration、maxInFlight 必須大於0，warmup、products 不可小於0");
+        }
+        return new LoadTestOptions(rate, duration, warmup, products, maxInFlight, mix, output);
+    }
+
+    /**
+     * 解析情境權重，例如 browse:30,search:20,checkout:10
+     */
+    private static Map<Scenario, Integer> parseMix(String value) {
+        Map<Scenario, Integer> mix = new EnumMap<>(Scenario.class);
+        for (String part : value.split(",")) {
+            String[] pair = part.split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("情境權重格式應為 name:weight：" + part);
+            }
+            mix.put(Scenario.of(pair[0]), Integer.parseInt(pair[1].trim()));
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.loadtest;
+
+import com.example.OnlineShoppingSystemApplication;
+import com.example.entity.Product;
+import com.example.repository.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 壓力測試進入點
+ * 以 H2 記憶體資料庫啟動應用程式（隨機埠號）、建立商品目錄，
+ * 再依設定的到達率與情境比例呼叫實際的 HTTP API，輸出各端點的吞吐量與延遲百分位數
+ *
+ * 參數（key=value）：rate、duration、warmup、products、maxInFlight、mix、output
+ */
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(OnlineShoppingSystemApplication.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.hikari.maximum-pool-size=20",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.example=WARN",
+                        "--logging.level.org.hibernate=WARN",
+                        "--logging.level.org.springframework.web=WARN",
+                        "--app.archive.enabled=false",
+                        "--app.query-budget.mode=off",
+                        // 所有請求都來自本機，只保留 bulkhead，不做每個 IP 的限流
+                        "--app.traffic.rate-limit.enabled=false");
+        try {
+            ProductRepository productRepository = context.getBean(ProductRepository.class);
+            System.out.println("🔄 建立商品目錄：" + options.catalogSize() + " 個商品");
+            new CatalogSeeder(productRepository).seed(options.catalogSize());
+            long[] productIds = productRepository.findAll().stream().mapToLong(Product::getId).toArray();
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI baseUri = URI.create("http://localhost:" + port);
+            System.out.println("🚀 開始壓力測試：" + options.rate() + " req/s，暖機 " + options.warmupSeconds()
+                    + " 秒，量測 " + options.durationSeconds() + " 秒，" + baseUri);
+
+            Map<Scenario, ScenarioStats> stats = new LoadGenerator(options, baseUri, productIds).run();
+            report(options, productIds.length, stats, overloadSummary(context.getBean(MeterRegistry.class)));
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * 過載保護的狀態：資料庫同時處理數上限與被拒絕的請求數（errors 欄中的 429/503 即來自這些拒絕）
+     */
+    private static Map<String, Object> overloadSummary(MeterRegistry meterRegistry) {
+        Map<String, Object> overload = new LinkedHashMap<>();
+        Gauge limit = meterRegistry.find("app.db.concurrency.limit").gauge();
+        if (limit != null) {
+            overload.put("dbConcurrencyLimit", (int) limit.value());
+        }
+        overload.put("dbRejected", (long) meterRegistry.find("app.db.concurrency.calls").tag("outcome", "rejected")
+                .counters().stream().mapToDouble(Counter::count).sum());
+        overload.put("trafficRejected", (long) meterRegistry.find("app.traffic.rejected")
+                .counters().stream().mapToDouble(Counter::count).sum());
+        return overload;
+    }
+
+    private static void report(LoadTestOptions options, int catalogSize,
+                               Map<Scenario, ScenarioStats> stats, Map<String, Object> overload) throws Exception {
+        Map<String, Object> scenarios = new LinkedHashMap<>();
+        System.out.println();
+        System.out.printf("%-10s %9s %7s %8s %9s %9s %9s %9s %9s %9s%n",
+                "scenario", "requests", "errors", "dropped", "req/s", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)");
+        for (Map.Entry<Scenario, ScenarioStats> entry : stats.entrySet()) {
+            Map<String, Object> summary = entry.getValue().summary(options.durationSeconds());
+            scenarios.put(entry.getKey().getKey(), summary);
+            System.out.printf("%-10s %9d %7d %8d %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey().getKey(), summary.get("requests"), summary.get("errors"), summary.get("dropped"),
+                    summary.get("throughput"), summary.get("p50"), summary.get("p90"), summary.get("p99"),
+                    summary.get("p999"), summary.get("max"));
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("timestamp", LocalDateTime.now().toString());
+        result.put("rate", options.rate());
+        result.put("durationSeconds", options.durationSeconds());
+        result.put("warmupSeconds", options.warmupSeconds());
+        result.put("catalogSize", catalogSize);
+        result.put("mix", options.mix());
+        result.put("scenarios", scenarios);
+        result.put("overload", overload);
+
+        System.out.println("🛡️ 過載保護：" + overload);
+
+        Files.createDirectories(options.output().toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(options.output().toFile(), result);
+        System.out.println();
+        System.out.println("📄 結果已輸出至 " + options.output());
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 負載情境，對應前台與後台實際呼叫的 API
+ */
+public enum Scenario {
+    BROWSE("browse", 30),           // GET /api/products
+    SEARCH("search", 20),           // GET /api/products?category=&search=
+    CART_CHECK("cart", 15),         // 購物車頁逐一確認商品：GET /api/products/{id} × 購物車品項數
+    CHECKOUT("checkout", 10),       // POST /api/orders
+    ORDER_LOOKUP("lookup", 15),     // GET /api/orders/customer?phone=
+    DASHBOARD("dashboard", 10);     // GET /api/admin/dashboard
+
+    private final String key;
+    private final int defaultWeight;
+
+    Scenario(String key, int defaultWeight) {
+        this.key = key;
+        this.defaultWeight = defaultWeight;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public static Map<Scenario, Integer> defaultMix() {
+        Map<Scenario, Integer> mix = new EnumMap<>(Scenario.class);
+        for (Scenario scenario : values()) {
+            mix.put(scenario, scenario.defaultWeight);
+        }
+        return mix;
+    }
+
+    public static Scenario of(String key) {
+        for (Scenario scenario : values()) {
+            if (scenario.key.equalsIgnoreCase(key.trim())) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("不支援的情境：" + key);
+    }
+}
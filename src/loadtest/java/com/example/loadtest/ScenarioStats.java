@@ -0,0 +1,68 @@
+package com.example.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 單一情境的統計：延遲以 HDR Histogram 記錄（微秒），另計成功、失敗與丟棄次數
+ */
+public class ScenarioStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public void recordSuccess(long latencyNanos) {
+        record(latencyNanos);
+        successes.increment();
+    }
+
+    public void recordError(long latencyNanos) {
+        record(latencyNanos);
+        errors.increment();
+    }
+
+    public void recordDropped() {
+        dropped.increment();
+    }
+
+    private void record(long latencyNanos) {
+        long micros = Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        latency.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+    }
+
+    /**
+     * 彙整為報表欄位（延遲單位：毫秒）
+     */
+    public Map<String, Object> summary(double measuredSeconds) {
+        long completed = successes.sum() + errors.sum();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", completed);
+        summary.put("errors", errors.sum());
+        summary.put("dropped", dropped.sum());
+        summary.put("throughput", round(completed / measuredSeconds));
+        summary.put("p50", percentile(50));
+        summary.put("p90", percentile(90));
+        summary.put("p99", percentile(99));
+        summary.put("p999", percentile(99.9));
+        summary.put("max", round(latency.getMaxValue() / 1000.0));
+        summary.put("mean", round(latency.getMean() / 1000.0));
+        return summary;
+    }
+
+    private double percentile(double percentile) {
+        return round(latency.getValueAtPercentile(percentile) / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
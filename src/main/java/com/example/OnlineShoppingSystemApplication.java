@@ -2,6 +2,7 @@ package com.example;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * 線上購物系統主應用程式
@@ -19,6 +20,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * - 資料庫：MySQL 8.0+
  */
 @SpringBootApplication
+@EnableScheduling
 public class OnlineShoppingSystemApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,127 @@
+package com.example.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 自適應同時處理數上限（梯度演算法）
+ * 以無負載延遲與短期平均延遲的比值調整上限：延遲接近基準時逐步放寬（每個取樣窗加上 √limit 的排隊空間），
+ * 延遲上升表示資料庫已開始排隊，依比例縮小上限；發生逾時等失敗時直接乘以 0.9
+ * 無負載延遲取最近一段時間內各取樣窗平均延遲的最小值（兩個輪替的時間區段），查詢組合改變時會跟著更新，
+ * 持續滿載時也不會像指數移動平均那樣被拉高到滿載時的延遲
+ * 只在接近滿載時才放寬，低流量期間不會因為延遲低而把上限推到不合理的值
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final double SMOOTHING = 0.2;
+    private static final double DROP_FACTOR = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final int windowSize;
+    private final long baselineBucketNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    // 以下欄位只在 synchronized 區塊內存取
+    private double estimatedLimit;
+    private double minRttNanos = Double.MAX_VALUE;
+    private double previousMinRttNanos = Double.MAX_VALUE;
+    private long bucketStartNanos = System.nanoTime();
+    private long windowSumNanos;
+    private int windowCount;
+    private int windowMaxInFlight;
+
+    /**
+     * @param tolerance 可容忍的延遲倍數（短期延遲達基準的此倍數時上限才開始縮小）
+     * @param windowSize 每幾個取樣計算一次短期延遲
+     * @param baselineMillis 無負載延遲的觀察期間
+     */
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, int windowSize,
+                                    long baselineMillis) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("上限設定須滿足 1 <= min <= initial <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.windowSize = windowSize;
+        this.baselineBucketNanos = baselineMillis * 1_000_000L / 2;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+    }
+
+    /**
+     * 未達上限時占用一個名額
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 釋放名額並回報這次呼叫的耗時
+     *
+     * @param dropped 是否為逾時、取不到連線等過載造成的失敗
+     */
+    public void release(long rttNanos, boolean dropped) {
+        int inFlightAtRelease = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (dropped) {
+                updateLimit(estimatedLimit * DROP_FACTOR);
+                return;
+            }
+            windowSumNanos += rttNanos;
+            windowCount++;
+            windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtRelease);
+            if (windowCount < windowSize) {
+                return;
+            }
+
+            double shortRttNanos = (double) windowSumNanos / windowCount;
+            int maxInFlight = windowMaxInFlight;
+            windowSumNanos = 0;
+            windowCount = 0;
+            windowMaxInFlight = 0;
+
+            long now = System.nanoTime();
+            if (now - bucketStartNanos >= baselineBucketNanos) {
+                previousMinRttNanos = minRttNanos;
+                minRttNanos = Double.MAX_VALUE;
+                bucketStartNanos = now;
+            }
+            minRttNanos = Math.min(minRttNanos, shortRttNanos);
+            double noLoadRttNanos = Math.min(minRttNanos, previousMinRttNanos);
+
+            // 使用量不到上限一半時，延遲反映不出上限是否合適，不調整
+            if (maxInFlight < estimatedLimit / 2) {
+                return;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, tolerance * noLoadRttNanos / shortRttNanos));
+            double queueSize = Math.sqrt(estimatedLimit);
+            double newLimit = estimatedLimit * gradient + queueSize;
+            updateLimit(estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING);
+        }
+    }
+
+    private void updateLimit(double newLimit) {
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,484 @@
+package com.example.config;
+
+import com.example.entity.Money;
+import com.example.entity.Order;
+import com.example.entity.OrderItem;
+import com.example.entity.Product;
+import com.example.service.DailySalesService;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 大量測試資料產生器（app.seed.enabled=true 時於啟動時執行）
+ * 依設定數量產生商品與訂單：商品熱門度為 Zipf 分布、下單時間依一天中的時段與週末加權、
+ * 訂單狀態依訂單新舊分布；資料以 Product / Order / OrderItem 實體建立後，
+ * 以多列 INSERT 分批寫入，並回報每秒寫入筆數
+ * 於 DataInitializer 之後、各項統計在 ApplicationReadyEvent 載入之前執行；
+ * 寫入後由訂單重建每日銷售彙總，儀表板與分析快照都會包含產生的資料
+ */
+@Component
+@org.springframework.core.annotation.Order(Ordered.LOWEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "app.seed", name = "enabled", havingValue = "true")
+public class BulkDataGenerator implements CommandLineRunner {
+
+    private static final String[] CATEGORIES = {"電子產品", "服飾", "家居用品", "書籍", "美妝保養", "運動用品", "食品飲料"};
+    private static final String[][] NOUNS = {
+            {"藍牙耳機", "行動電源", "智慧手錶", "機械鍵盤", "無線滑鼠", "平板電腦", "螢幕"},
+            {"牛仔外套", "純棉T恤", "襯衫", "休閒長褲", "針織衫", "羽絨外套", "洋裝"},
+            {"檯燈", "床墊", "收納櫃", "餐桌", "抱枕", "空氣清淨機", "電熱水壺"},
+            {"程式設計", "資料庫概論", "設計入門", "理財指南", "旅遊手冊", "小說", "食譜"},
+            {"保濕精華", "防曬乳", "面霜", "卸妝油", "洗面乳", "化妝水", "護手霜"},
+            {"瑜珈墊", "運動鞋", "啞鈴", "跑步外套", "水壺", "登山背包", "網球拍"},
+            {"咖啡豆", "綠茶", "堅果", "巧克力", "燕麥片", "橄欖油", "蜂蜜"}
+    };
+    private static final String[] ADJECTIVES = {"經典", "輕量", "旗艦", "限定", "專業", "環保", "豪華", "基本款"};
+    // 各分類售價範圍（元），售價在範圍內取對數均勻分布
+    private static final int[][] PRICE_RANGES = {
+            {500, 50000}, {200, 5000}, {300, 30000}, {200, 1200}, {150, 3000}, {200, 8000}, {80, 1500}
+    };
+
+    private static final String[] SURNAMES = {"陳", "林", "黃", "張", "李", "王", "吳", "劉", "蔡", "楊", "許", "鄭"};
+    private static final String[] GIVEN_NAMES = {"怡君", "志明", "雅婷", "冠宇", "淑芬", "家豪", "佳穎", "俊傑",
+            "欣怡", "宗翰", "美玲", "建宏", "詩涵", "承恩", "宜蓁"};
+    private static final String[] CITIES = {"台北市", "新北市", "桃園市", "台中市", "台南市", "高雄市", "新竹市"};
+    private static final String[] ROADS = {"中山路", "中正路", "民生路", "復興路", "光復路", "和平路", "建國路"};
+
+    // 一天中各小時的下單權重（午休與晚間為高峰）
+    private static final int[] HOUR_WEIGHTS = {4, 2, 1, 1, 1, 1, 2, 4, 6, 8, 9, 11, 13, 11, 9, 9, 10, 11, 13, 16, 18, 17, 13, 8};
+    private static final double WEEKEND_WEIGHT = 1.3;
+    // 回購集中度：少數常客下單較多
+    private static final double CUSTOMER_EXPONENT = 0.5;
+
+    private static final String[] PRODUCT_COLUMNS = {"name", "category", "price", "description", "is_active",
+            "stock_quantity", "created_at", "updated_at"};
+    private static final String[] ORDER_COLUMNS = {"customer_name", "customer_email", "customer_phone",
+            "customer_phone_normalized", "customer_address", "total_amount", "status", "order_date", "notes"};
+    private static final String[] ITEM_COLUMNS = {"order_id", "product_id", "quantity", "unit_price", "product_name"};
+    // 每批列數上限：MySQL 單一預處理陳述式最多 65535 個參數（訂單 9 欄約 7281 列），
+    // 取 5000 列讓單一 INSERT 也遠小於 max_allowed_packet
+    private static final int MAX_BATCH_ROWS = 5000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DailySalesService dailySalesService;
+
+    @Value("${app.seed.products:10000}")
+    private int productCount;
+
+    @Value("${app.seed.orders:100000}")
+    private int orderCount;
+
+    @Value("${app.seed.customers:20000}")
+    private int customerCount;
+
+    @Value("${app.seed.days:365}")
+    private int days;
+
+    @Value("${app.seed.zipf-exponent:1.1}")
+    private double zipfExponent;
+
+    @Value("${app.seed.batch-rows:1000}")
+    private int batchRows;
+
+    @Value("${app.seed.random-seed:42}")
+    private long randomSeed;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.time_zone:}")
+    private String jdbcTimeZone;
+
+    /**
+     * 啟動時檢查批次列數，設定錯誤時直接中止啟動，避免寫到一半才失敗
+     */
+    @PostConstruct
+    public void validateBatchRows() {
+        if (batchRows < 1 || batchRows > MAX_BATCH_ROWS) {
+            throw new IllegalArgumentException("app.seed.batch-rows 須介於 1 與 " + MAX_BATCH_ROWS
+                    + " 之間，目前為 " + batchRows);
+        }
+    }
+
+    /**
+     * 已寫入的商品（索引 → ID、售價），名稱與分類由索引推得
+     */
+    private long[] productIds;
+    private int[] productPrices;
+    private boolean[] productActive;
+
+    @Override
+    public void run(String... args) {
+        System.out.println("🔄 開始產生大量測試資料：商品 " + productCount + "、訂單 " + orderCount
+                + "、客戶 " + customerCount + "、期間 " + days + " 天");
+        Random random = new Random(randomSeed);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long start = System.nanoTime();
+
+        long products = seedProducts(random, transaction);
+        long[] orderRows = seedOrders(random, transaction);
+        // 直接以 JDBC 寫入，Hibernate 不知道資料已變更，清空二級快取（含分類查詢結果）
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        if (orderRows[0] > 0) {
+            // 訂單事件不會觸發，已有彙總資料時啟動回填也會略過，因此由訂單重建每日銷售彙總
+            int salesRows = dailySalesService.backfill();
+            System.out.println("📊 每日銷售彙總已重建，共 " + salesRows + " 筆");
+        }
+
+        report("✅ 大量資料產生完成，共", products + orderRows[0] + orderRows[1], System.nanoTime() - start);
+    }
+
+    private long seedProducts(Random random, TransactionTemplate transaction) {
+        long start = System.nanoTime();
+        productIds = new long[productCount];
+        productPrices = new int[productCount];
+        productActive = new boolean[productCount];
+        LocalDateTime createdAt = LocalDate.now().minusDays(days).atStartOfDay();
+
+        List<Object[]> rows = new ArrayList<>(batchRows);
+        int flushed = 0;
+        for (int i = 0; i < productCount; i++) {
+            int category = i % CATEGORIES.length;
+            int[] range = PRICE_RANGES[category];
+            productPrices[i] = (int) Math.round(range[0] * Math.pow((double) range[1] / range[0], random.nextDouble()));
+            productActive[i] = random.nextInt(100) >= 3;
+
+            Product product = new Product(productName(i), CATEGORIES[category], Money.of(productPrices[i]),
+                    CATEGORIES[category] + "・" + NOUNS[category][(i / CATEGORIES.length) % NOUNS[category].length]
+                            + "（大量測試資料）");
+            product.setStockQuantity(random.nextInt(500));
+            product.setIsActive(productActive[i]);
+            rows.add(new Object[]{product.getName(), product.getCategory(), product.getPrice().toBigDecimal(),
+                    product.getDescription(), product.getIsActive(), product.getStockQuantity(), createdAt, createdAt});
+
+            if (rows.size() == batchRows || i == productCount - 1) {
+                List<Object[]> batch = rows;
+                long[] ids = transaction.execute(status -> insert("products", PRODUCT_COLUMNS, batch, true));
+                System.arraycopy(ids, 0, productIds, flushed, ids.length);
+                flushed += ids.length;
+                rows = new ArrayList<>(batchRows);
+            }
+        }
+        report("📦 商品", productCount, System.nanoTime() - start);
+        return productCount;
+    }
+
+    /**
+     * 逐日產生訂單（同一天內依時間排序，訂單ID 與下單時間同向遞增）
+     * @return {訂單筆數, 明細筆數}
+     */
+    private long[] seedOrders(Random random, TransactionTemplate transaction) {
+        if (productCount == 0 || orderCount == 0) {
+            return new long[]{0, 0};
+        }
+        long start = System.nanoTime();
+        ZipfSampler productPopularity = new ZipfSampler(productCount, zipfExponent);
+        ZipfSampler customerActivity = new ZipfSampler(Math.max(1, customerCount), CUSTOMER_EXPONENT);
+        int[] productByRank = shuffledIndexes(productCount, random);
+        double[] hourCdf = cumulative(Arrays.stream(HOUR_WEIGHTS).asDoubleStream().toArray());
+
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        double[] dayCdf = cumulative(dayWeights(today));
+
+        List<Order> pending = new ArrayList<>(batchRows);
+        long[] rows = new long[2];
+        long reportEvery = Math.max(1, orderCount / 10);
+        int generated = 0;
+        for (int day = 0; day < days; day++) {
+            int target = (int) Math.round(orderCount * dayCdf[day]);
+            int count = target - generated;
+            LocalDate date = today.minusDays(days - 1 - day);
+
+            // 今天只產生目前時間之前的訂單
+            long secondsLimit = date.equals(today) ? Math.max(1, now.toLocalTime().toSecondOfDay()) : 86_400;
+            long[] seconds = new long[count];
+            for (int i = 0; i < count; i++) {
+                seconds[i] = secondOfDay(random, hourCdf, secondsLimit);
+            }
+            Arrays.sort(seconds);
+            for (long second : seconds) {
+                LocalDateTime orderDate = date.atStartOfDay().plusSeconds(second);
+                pending.add(buildOrder(random, orderDate, days - 1 - day,
+                        customerActivity.sample(random) - 1, productPopularity, productByRank));
+                if (pending.size() == batchRows) {
+                    flushOrders(pending, transaction, rows);
+                    pending.clear();
+                }
+                if (++generated % reportEvery == 0) {
+                    System.out.printf("   ⏳ 訂單 %d / %d%n", generated, orderCount);
+                }
+            }
+        }
+        if (!pending.isEmpty()) {
+            flushOrders(pending, transaction, rows);
+        }
+
+        long elapsed = System.nanoTime() - start;
+        report("🧾 訂單", rows[0], elapsed);
+        report("📋 訂單明細", rows[1], elapsed);
+        return rows;
+    }
+
+    private Order buildOrder(Random random, LocalDateTime orderDate, int ageDays, int customer,
+                             ZipfSampler productPopularity, int[] productByRank) {
+        String phone = String.format("09%02d-%03d-%03d", 20 + customer / 1_000_000,
+                (customer / 1000) % 1000, customer % 1000);
+        Order order = new Order(SURNAMES[customer % SURNAMES.length]
+                + GIVEN_NAMES[(customer / SURNAMES.length) % GIVEN_NAMES.length],
+                customer % 3 == 0 ? null : "customer" + customer + "@example.com",
+                phone,
+                CITIES[customer % CITIES.length] + ROADS[(customer / 7) % ROADS.length] + (customer % 300 + 1) + "號",
+                Money.ZERO);
+        order.setOrderDate(orderDate);
+        order.setStatus(status(random, ageDays));
+        if (random.nextInt(10) == 0) {
+            order.setNotes("請於下班時間送達");
+        }
+
+        // 明細 1~5 項（少量商品的訂單較多），同一訂單不重複商品
+        int lines = 1 + (int) Math.min(4, -Math.log(1 - random.nextDouble()) * 1.2);
+        long totalCents = 0;
+        List<Integer> chosen = new ArrayList<>(lines);
+        for (int attempt = 0; chosen.size() < lines && attempt < lines * 4; attempt++) {
+            int index = productByRank[productPopularity.sample(random) - 1];
+            if (!productActive[index] || chosen.contains(index)) {
+                continue;
+            }
+            chosen.add(index);
+            Product product = new Product(productName(index), CATEGORIES[index % CATEGORIES.length],
+                    Money.of(productPrices[index]), null);
+            product.setId(productIds[index]);
+            OrderItem item = new OrderItem(order, product, 1 + (random.nextInt(10) < 8 ? 0 : random.nextInt(3)),
+                    product.getPrice());
+            order.addOrderItem(item);
+            totalCents += item.getSubtotalCents();
+        }
+        if (chosen.isEmpty()) {
+            // 抽到的商品都已下架時改用第一個上架商品
+            int index = 0;
+            while (index < productCount - 1 && !productActive[index]) {
+                index++;
+            }
+            Product product = new Product(productName(index), CATEGORIES[index % CATEGORIES.length],
+                    Money.of(productPrices[index]), null);
+            product.setId(productIds[index]);
+            OrderItem item = new OrderItem(order, product, 1, product.getPrice());
+            order.addOrderItem(item);
+            totalCents = item.getSubtotalCents();
+        }
+        order.setTotalAmount(Money.ofCents(totalCents));
+        return order;
+    }
+
+    private void flushOrders(List<Order> orders, TransactionTemplate transaction, long[] rows) {
+        transaction.executeWithoutResult(status -> {
+            List<Object[]> orderRows = new ArrayList<>(orders.size());
+            for (Order order : orders) {
+                orderRows.add(new Object[]{order.getCustomerName(), order.getCustomerEmail(), order.getCustomerPhone(),
+                        order.getCustomerPhoneNormalized(), order.getCustomerAddress(),
+                        order.getTotalAmount().toBigDecimal(), order.getStatus().name(), order.getOrderDate(),
+                        order.getNotes()});
+            }
+            long[] ids = insert("orders", ORDER_COLUMNS, orderRows, true);
+
+            List<Object[]> itemRows = new ArrayList<>(batchRows);
+            for (int i = 0; i < orders.size(); i++) {
+                for (OrderItem item : orders.get(i).getOrderItems()) {
+                    itemRows.add(new Object[]{ids[i], item.getProduct().getId(), item.getQuantity(),
+                            item.getUnitPrice().toBigDecimal(), item.getProductName()});
+                    if (itemRows.size() == batchRows) {
+                        rows[1] += itemRows.size();
+                        insert("order_items", ITEM_COLUMNS, itemRows, false);
+                        itemRows.clear();
+                    }
+                }
+            }
+            if (!itemRows.isEmpty()) {
+                rows[1] += itemRows.size();
+                insert("order_items", ITEM_COLUMNS, itemRows, false);
+            }
+            rows[0] += ids.length;
+        });
+    }
+
+    /**
+     * 以單一多列 INSERT 寫入，需要時回傳依列順序的自動產生ID
+     */
+    private long[] insert(String table, String[] columns, List<Object[]> rows, boolean returnKeys) {
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(table)
+                .append(" (").append(String.join(", ", columns)).append(") VALUES ");
+        String placeholders = "(" + "?, ".repeat(columns.length - 1) + "?)";
+        for (int i = 0; i < rows.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append(placeholders);
+        }
+        Calendar calendar = jdbcTimeZone.isEmpty() ? null : Calendar.getInstance(TimeZone.getTimeZone(jdbcTimeZone));
+
+        return jdbcTemplate.execute((ConnectionCallback<long[]>) connection -> {
+            try (PreparedStatement statement = returnKeys
+                    ? connection.prepareStatement(sql.toString(), Statement.RETURN_GENERATED_KEYS)
+                    : connection.prepareStatement(sql.toString())) {
+                int index = 1;
+                for (Object[] row : rows) {
+                    for (Object value : row) {
+                        bind(statement, index++, value, calendar);
+                    }
+                }
+                statement.executeUpdate();
+                if (!returnKeys) {
+                    return null;
+                }
+                long[] ids = new long[rows.size()];
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    for (int i = 0; i < ids.length && keys.next(); i++) {
+                        ids[i] = keys.getLong(1);
+                    }
+                }
+                return ids;
+            }
+        });
+    }
+
+    /**
+     * 時間欄位與 Hibernate 相同：依 hibernate.jdbc.time_zone 寫入
+     */
+    private static void bind(PreparedStatement statement, int index, Object value, Calendar calendar)
+            throws SQLException {
+        if (value instanceof LocalDateTime dateTime) {
+            if (calendar != null) {
+                statement.setTimestamp(index, Timestamp.valueOf(dateTime), calendar);
+            } else {
+                statement.setTimestamp(index, Timestamp.valueOf(dateTime));
+            }
+        } else {
+            statement.setObject(index, value);
+        }
+    }
+
+    private static String productName(int index) {
+        int category = index % CATEGORIES.length;
+        String[] nouns = NOUNS[category];
+        int noun = (index / CATEGORIES.length) % nouns.length;
+        int adjective = (index / (CATEGORIES.length * nouns.length)) % ADJECTIVES.length;
+        return ADJECTIVES[adjective] + nouns[noun] + " #" + (index + 1);
+    }
+
+    /**
+     * 依訂單新舊決定狀態：當天多為待處理，數天內逐步出貨，較舊的訂單多已送達
+     */
+    private static Order.OrderStatus status(Random random, int ageDays) {
+        int roll = random.nextInt(100);
+        if (ageDays == 0) {
+            return roll < 55 ? Order.OrderStatus.PENDING
+                    : roll < 85 ? Order.OrderStatus.CONFIRMED
+                    : roll < 95 ? Order.OrderStatus.SHIPPED : Order.OrderStatus.CANCELLED;
+        }
+        if (ageDays <= 3) {
+            return roll < 10 ? Order.OrderStatus.PENDING
+                    : roll < 30 ? Order.OrderStatus.CONFIRMED
+                    : roll < 70 ? Order.OrderStatus.SHIPPED
+                    : roll < 93 ? Order.OrderStatus.DELIVERED : Order.OrderStatus.CANCELLED;
+        }
+        return roll < 91 ? Order.OrderStatus.DELIVERED : Order.OrderStatus.CANCELLED;
+    }
+
+    /**
+     * 每日權重：週末加權，並由期初 0.6 線性成長到期末 1.0
+     */
+    private double[] dayWeights(LocalDate today) {
+        double[] weights = new double[days];
+        for (int day = 0; day < days; day++) {
+            DayOfWeek dayOfWeek = today.minusDays(days - 1 - day).getDayOfWeek();
+            double growth = days == 1 ? 1.0 : 0.6 + 0.4 * day / (days - 1);
+            boolean weekend = dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY;
+            weights[day] = growth * (weekend ? WEEKEND_WEIGHT : 1.0);
+        }
+        return weights;
+    }
+
+    private static long secondOfDay(Random random, double[] hourCdf, long limit) {
+        for (int attempt = 0; attempt < 20; attempt++) {
+            double roll = random.nextDouble();
+            int hour = 0;
+            while (hour < 23 && roll > hourCdf[hour]) {
+                hour++;
+            }
+            long second = hour * 3600L + random.nextInt(3600);
+            if (second < limit) {
+                return second;
+            }
+        }
+        return (long) (random.nextDouble() * limit);
+    }
+
+    /**
+     * 正規化的累積分布（最後一項為 1）
+     */
+    private static double[] cumulative(double[] weights) {
+        double[] cdf = new double[weights.length];
+        double sum = Arrays.stream(weights).sum();
+        double running = 0;
+        for (int i = 0; i < weights.length; i++) {
+            running += weights[i];
+            cdf[i] = running / sum;
+        }
+        cdf[weights.length - 1] = 1.0;
+        return cdf;
+    }
+
+    /**
+     * 熱門名次對應的商品索引（打散，熱門商品不會集中在最前面的ID）
+     */
+    private static int[] shuffledIndexes(int size, Random random) {
+        int[] indexes = new int[size];
+        for (int i = 0; i < size; i++) {
+            indexes[i] = i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = indexes[i];
+            indexes[i] = indexes[j];
+            indexes[j] = swap;
+        }
+        return indexes;
+    }
+
+    private static void report(String label, long rows, long elapsedNanos) {
+        double seconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        System.out.printf("%s %,d 筆，耗時 %.1f 秒（%,.0f 筆/秒）%n", label, rows, seconds,
+                seconds > 0 ? rows / seconds : 0);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.config;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 每個用戶端（IP）一個令牌桶：每秒補充 permitsPerSecond 個令牌，最多累積 burst 個
+ * 令牌桶存放在有上限的 ConcurrentHashMap，閒置超過 idleNanos 的用戶端定期移除；
+ * 表已滿時新的用戶端共用同一個溢出桶，大量偽造來源也無法讓記憶體無限成長
+ */
+public class ClientRateLimiter {
+
+    private final double permitsPerNano;
+    private final int burst;
+    private final int maxClients;
+    private final long idleNanos;
+
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final Bucket overflow;
+    private final AtomicLong nextSweepNanos;
+
+    public ClientRateLimiter(double permitsPerSecond, int burst, int maxClients, long idleMillis) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("每秒令牌數須大於 0，突發上限須至少為 1");
+        }
+        this.permitsPerNano = permitsPerSecond / 1_000_000_000d;
+        this.burst = burst;
+        this.maxClients = maxClients;
+        this.idleNanos = idleMillis * 1_000_000L;
+        long now = System.nanoTime();
+        this.overflow = new Bucket(burst, now);
+        this.nextSweepNanos = new AtomicLong(now + idleNanos);
+    }
+
+    /**
+     * 取得一個令牌
+     *
+     * @return 0 表示取得成功，否則為需等待多久（奈秒）才會有下一個令牌
+     */
+    public long tryAcquire(String client) {
+        long now = System.nanoTime();
+        sweepIfDue(now);
+        Bucket bucket = buckets.get(client);
+        if (bucket == null) {
+            bucket = buckets.size() < maxClients
+                    ? buckets.computeIfAbsent(client, key -> new Bucket(burst, now))
+                    : overflow;
+        }
+        return bucket.tryAcquire(now, permitsPerNano, burst);
+    }
+
+    public int getClientCount() {
+        return buckets.size();
+    }
+
+    /**
+     * 由第一個超過排程時間的請求順便移除閒置的令牌桶，不需要另外的執行緒
+     */
+    private void sweepIfDue(long now) {
+        long due = nextSweepNanos.get();
+        if (now - due < 0 || !nextSweepNanos.compareAndSet(due, now + idleNanos)) {
+            return;
+        }
+        buckets.values().removeIf(bucket -> now - bucket.lastAccessNanos > idleNanos);
+    }
+
+    private static final class Bucket {
+
+        private double tokens;
+        private long refilledAt;
+        private volatile long lastAccessNanos;
+
+        Bucket(int burst, long now) {
+            this.tokens = burst;
+            this.refilledAt = now;
+            this.lastAccessNanos = now;
+        }
+
+        synchronized long tryAcquire(long now, double permitsPerNano, int burst) {
+            lastAccessNanos = now;
+            if (now - refilledAt > 0) {
+                tokens = Math.min(burst, tokens + (now - refilledAt) * permitsPerNano);
+                refilledAt = now;
+            }
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / permitsPerNano);
+        }
+    }
+}
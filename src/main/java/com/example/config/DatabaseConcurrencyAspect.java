@@ -0,0 +1,109 @@
+package com.example.config;
+
+import com.example.service.DomainException;
+import com.example.service.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * 資料庫同時處理數控制
+ * API 請求呼叫 ProductService、OrderService 時須先取得 AdaptiveConcurrencyLimit 的名額，
+ * 額滿時立即以 SERVICE_BUSY（503，附 Retry-After）拒絕，而不是在連線池中排隊直到 connectionTimeout
+ * 上限依服務方法的實際耗時自動調整；只計算最外層的服務呼叫（服務之間互相呼叫不重複占用），
+ * 排程與啟動工作不在請求內，不受限制
+ * 排在交易攔截器之外，被拒絕的呼叫不會開啟交易或取得連線
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 100)
+@ConditionalOnProperty(prefix = "app.db-limiter", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DatabaseConcurrencyAspect {
+
+    private static final ThreadLocal<Boolean> ADMITTED = new ThreadLocal<>();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.db-limiter.initial-limit:10}")
+    private int initialLimit;
+
+    @Value("${app.db-limiter.min-limit:2}")
+    private int minLimit;
+
+    @Value("${app.db-limiter.max-limit:100}")
+    private int maxLimit;
+
+    @Value("${app.db-limiter.tolerance:1.5}")
+    private double tolerance;
+
+    @Value("${app.db-limiter.window-size:20}")
+    private int windowSize;
+
+    @Value("${app.db-limiter.baseline-seconds:60}")
+    private long baselineSeconds;
+
+    private AdaptiveConcurrencyLimit concurrencyLimit;
+    private Counter admitted;
+    private Counter rejected;
+
+    @PostConstruct
+    public void init() {
+        concurrencyLimit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, tolerance, windowSize,
+                baselineSeconds * 1000);
+        Gauge.builder("app.db.concurrency.limit", concurrencyLimit, AdaptiveConcurrencyLimit::getLimit)
+                .description("資料庫呼叫目前的同時處理數上限")
+                .register(meterRegistry);
+        Gauge.builder("app.db.concurrency.in_flight", concurrencyLimit, AdaptiveConcurrencyLimit::getInFlight)
+                .description("處理中的資料庫呼叫數")
+                .register(meterRegistry);
+        admitted = Counter.builder("app.db.concurrency.calls")
+                .description("API 請求的資料庫呼叫數（依是否被拒絕分組）")
+                .tag("outcome", "admitted")
+                .register(meterRegistry);
+        rejected = Counter.builder("app.db.concurrency.calls")
+                .description("API 請求的資料庫呼叫數（依是否被拒絕分組）")
+                .tag("outcome", "rejected")
+                .register(meterRegistry);
+    }
+
+    @Around("within(com.example.service.ProductService) || within(com.example.service.OrderService)")
+    public Object limit(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (ADMITTED.get() != null || RequestContextHolder.getRequestAttributes() == null) {
+            return joinPoint.proceed();
+        }
+        if (!concurrencyLimit.tryAcquire()) {
+            rejected.increment();
+            throw new DomainException(ErrorCode.SERVICE_BUSY);
+        }
+        admitted.increment();
+        ADMITTED.set(Boolean.TRUE);
+        long start = System.nanoTime();
+        boolean dropped = false;
+        try {
+            return joinPoint.proceed();
+        } catch (CannotGetJdbcConnectionException | CannotCreateTransactionException | QueryTimeoutException
+                 | TransientDataAccessResourceException e) {
+            dropped = true;
+            throw e;
+        } finally {
+            ADMITTED.remove();
+            concurrencyLimit.release(System.nanoTime() - start, dropped);
+        }
+    }
+}
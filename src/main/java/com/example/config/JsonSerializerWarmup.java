@@ -0,0 +1,63 @@
+package com.example.config;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 預先建立 JSON 序列化器
+ * 依各 API 方法宣告的回應型別（ResponseEntity 內的 record 與泛型參數）在啟動時解析序列化器並放入
+ * ObjectMapper 的快取，第一個請求不必再透過反射分析回應與 DTO 類別
+ */
+@Component
+public class JsonSerializerWarmup {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long start = System.nanoTime();
+        Set<JavaType> types = new LinkedHashSet<>();
+        for (HandlerMethod handlerMethod : handlerMapping.getHandlerMethods().values()) {
+            ResolvableType returnType = ResolvableType.forMethodReturnType(handlerMethod.getMethod());
+            if (HttpEntity.class.isAssignableFrom(returnType.toClass())) {
+                // 直接取方法簽章上的型別參數（as(HttpEntity) 只會得到未解析的型別變數）
+                returnType = returnType.getGeneric(0);
+            }
+            Class<?> bodyClass = returnType.toClass();
+            if (bodyClass == Object.class || bodyClass == Void.class || bodyClass == void.class
+                    || StreamingResponseBody.class.isAssignableFrom(bodyClass)
+                    || ResponseBodyEmitter.class.isAssignableFrom(bodyClass)
+                    || ModelAndView.class.isAssignableFrom(bodyClass)) {
+                continue;
+            }
+            types.add(objectMapper.constructType(returnType.getType()));
+        }
+
+        // ObjectWriter 建立時即解析根型別的序列化器（EAGER_SERIALIZER_FETCH），結果保留在共用快取
+        for (JavaType type : types) {
+            objectMapper.writerFor(type);
+        }
+        System.out.println("🔥 已預先建立 " + types.size() + " 個 API 回應型別的 JSON 序列化器（"
+                + (System.nanoTime() - start) / 1_000_000 + " ms）");
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.config;
+
+import com.example.service.SlowRequestLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Map;
+
+/**
+ * 效能指標設定：註冊 API 請求指標、查詢預算與慢請求攔截器，JSON 回應加上 Server-Timing 標頭，
+ * 並讓 Hibernate 回報每個請求的 SQL 與實體載入統計
+ * 指標透過 /actuator/metrics 與 /actuator/prometheus 提供
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private SlowRequestLog slowRequestLog;
+
+    @Value("${app.query-budget.mode:log}")
+    private QueryBudgetInterceptor.Mode queryBudgetMode;
+
+    @Value("${app.query-budget.default:20}")
+    private int defaultQueryBudget;
+
+    @Value("${app.query-budget.repeat-threshold:5}")
+    private int repeatThreshold;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // 統計狀態由 RequestMetricsInterceptor 建立與清除，需先於查詢預算檢查註冊
+        registry.addInterceptor(new RequestMetricsInterceptor(meterRegistry)).addPathPatterns("/api/**");
+        registry.addInterceptor(new SlowRequestInterceptor(slowRequestLog)).addPathPatterns("/api/**");
+        if (queryBudgetMode != QueryBudgetInterceptor.Mode.OFF) {
+            Map<String, Integer> endpointBudgets = Binder.get(environment)
+                    .bind("app.query-budget.endpoints", Bindable.mapOf(String.class, Integer.class))
+                    .orElse(Map.of());
+            registry.addInterceptor(new QueryBudgetInterceptor(queryBudgetMode, defaultQueryBudget,
+                    repeatThreshold, endpointBudgets)).addPathPatterns("/api/**");
+        }
+    }
+
+    /**
+     * 取代 Spring Boot 預設的 JSON 轉換器
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new ServerTimingMessageConverter(objectMapper);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer requestQueryStatisticsCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+                    RequestQueryStatistics.SessionListener.class.getName());
+            properties.put(AvailableSettings.INTERCEPTOR, new RequestQueryStatistics.LoadInterceptor());
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new RequestQueryStatistics.ShapeInspector());
+        };
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * 訂單正規化電話欄位的遷移與回填
+ * 客戶以電話查詢訂單只比對 customer_phone_normalized；正式環境的欄位與索引由 db/migration/V2 建立，
+ * 其餘環境的既有資料庫在啟動時補上欄位與索引，並把欄位為 NULL 的舊訂單依 customer_phone 回填（僅保留數字），
+ * 否則這些訂單在電話查詢中永遠查不到。
+ * 於應用程式就緒時最先執行，完成後才回報可接收流量；已回填的資料庫只多一次索引查詢
+ */
+@Component
+public class OrderPhoneBackfill {
+
+    private static final String TABLE = "orders";
+    private static final String COLUMN = "customer_phone_normalized";
+    private static final String INDEX = "idx_orders_customer_phone_normalized";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.order-phone-backfill.batch-size:1000}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void migrate() {
+        if (!columnExists()) {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD COLUMN " + COLUMN + " VARCHAR(20)");
+            System.out.println("🛠️ 已新增欄位 " + TABLE + "." + COLUMN);
+        }
+        if (!indexExists()) {
+            jdbcTemplate.execute("CREATE INDEX " + INDEX + " ON " + TABLE + " (" + COLUMN + ")");
+            System.out.println("🛠️ 已建立索引 " + INDEX);
+        }
+        int rows = backfill();
+        if (rows > 0) {
+            System.out.println("📞 訂單正規化電話回填完成，共 " + rows + " 筆");
+        }
+    }
+
+    /**
+     * 以主鍵分批回填 customer_phone_normalized 為 NULL 的訂單，每批各自提交
+     * @return 回填筆數
+     */
+    public int backfill() {
+        int total = 0;
+        long lastId = 0;
+        while (true) {
+            List<Object[]> rows = jdbcTemplate.query(
+                    "SELECT id, customer_phone FROM " + TABLE + " WHERE " + COLUMN + " IS NULL AND id > ? ORDER BY id LIMIT ?",
+                    (rs, rowNum) -> new Object[]{
+                            com.example.entity.Order.normalizePhone(rs.getString("customer_phone")), rs.getLong("id")},
+                    lastId, batchSize);
+            if (rows.isEmpty()) {
+                return total;
+            }
+            jdbcTemplate.batchUpdate("UPDATE " + TABLE + " SET " + COLUMN + " = ? WHERE id = ?", rows);
+            total += rows.size();
+            lastId = (Long) rows.get(rows.size() - 1)[1];
+        }
+    }
+
+    private boolean columnExists() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet columns = metaData.getColumns(connection.getCatalog(), null,
+                    identifier(metaData, TABLE), identifier(metaData, COLUMN))) {
+                return columns.next();
+            }
+        }));
+    }
+
+    private boolean indexExists() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), null,
+                    identifier(metaData, TABLE), false, true)) {
+                while (indexes.next()) {
+                    if (INDEX.equalsIgnoreCase(indexes.getString("INDEX_NAME"))) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        }));
+    }
+
+    private static String identifier(DatabaseMetaData metaData, String name) throws SQLException {
+        return metaData.storesUpperCaseIdentifiers() ? name.toUpperCase() : name;
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.config;
+
+import com.example.entity.Product;
+import com.example.entity.ProductChange;
+import com.example.event.ProductEvent;
+import com.example.repository.ProductChangeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 多節點商品快取同步
+ * 本機的商品快取（二級快取的 product 區域與分類查詢結果）只在本節點寫入時由 Hibernate 更新，
+ * 其他節點經由 product_changes 表得知異動：
+ * - ProductService 發布的商品異動事件在原交易中寫入紀錄（每個商品一筆），與商品資料一起提交或回滾
+ * - 各節點定期以主鍵範圍查詢讀取新紀錄，只逐出這些商品 ID 的快取，並清除分類查詢結果
+ *
+ * 自增 ID 依取號順序而非提交順序出現：較小的 ID 可能稍後才提交，或因回滾永遠不會出現。
+ * 已處理版本因此只推進到連續的位置，缺號之後的紀錄照樣先逐出（重複逐出無副作用），
+ * 缺號超過 gap-timeout-ms 仍未出現時視為已回滾並跳過
+ * 輪詢走唯讀交易（設定複本時讀複本）：複本看得到異動紀錄時也已同步商品資料，逐出後重新載入不會讀到舊值
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.product-sync", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ProductCacheSynchronizer {
+
+    @Autowired
+    private ProductChangeRepository productChangeRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.product-sync.node-id:}")
+    private String configuredNodeId;
+
+    @Value("${app.product-sync.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.product-sync.gap-timeout-ms:10000}")
+    private long gapTimeoutMs;
+
+    @Value("${app.product-sync.retention-hours:24}")
+    private long retentionHours;
+
+    // 目前交易中待寫入異動紀錄的商品 ID（TransactionSynchronizationManager 資源鍵）
+    private final Object pendingChangesKey = new Object();
+
+    private String nodeId;
+
+    // 已處理（之前沒有缺號）的最高版本，-1 表示尚未初始化
+    private volatile long version = -1;
+    // 已逐出過的最高版本，缺號期間重複讀到的紀錄不重複計數
+    private long evictedUpTo;
+    // 目前缺號開始等待的時間，0 表示沒有缺號
+    private long gapSince;
+
+    private Counter evictions;
+
+    @PostConstruct
+    void init() {
+        nodeId = configuredNodeId.isBlank() ? UUID.randomUUID().toString() : configuredNodeId;
+        Gauge.builder("app.product_sync.version", this, ProductCacheSynchronizer::getVersion)
+                .description("已處理的商品異動版本")
+                .register(meterRegistry);
+        evictions = Counter.builder("app.product_sync.evictions")
+                .description("因其他節點異動而逐出的商品快取次數")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 商品異動時記下商品 ID，交易提交前以一個多列 INSERT 寫入（結帳扣多項商品庫存時不必逐筆寫入）
+     */
+    @EventListener
+    public void onProductEvent(ProductEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recordChanges(Set.of(event.productId()));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<Long> pending = (Set<Long>) TransactionSynchronizationManager.getResource(pendingChangesKey);
+        if (pending == null) {
+            Set<Long> productIds = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(pendingChangesKey, productIds);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    recordChanges(productIds);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(pendingChangesKey);
+                }
+            });
+            pending = productIds;
+        }
+        pending.add(event.productId());
+    }
+
+    private void recordChanges(Collection<Long> productIds) {
+        StringBuilder sql = new StringBuilder("INSERT INTO product_changes (product_id, node_id, changed_at) VALUES ");
+        for (int i = 0; i < productIds.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append("(:p").append(i).append(", :nodeId, :changedAt)");
+        }
+        Query insert = entityManager.createNativeQuery(sql.toString())
+                .setHint(HibernateHints.HINT_NATIVE_SPACES, "product_changes")
+                .setParameter("nodeId", nodeId)
+                .setParameter("changedAt", LocalDateTime.now());
+        int i = 0;
+        for (Long productId : productIds) {
+            insert.setParameter("p" + i++, productId);
+        }
+        insert.executeUpdate();
+    }
+
+    /**
+     * 讀取新的異動紀錄並逐出其他節點異動的商品快取
+     * 第一次執行時只記下目前版本：節點剛啟動，快取中不會有更早的資料
+     */
+    @Scheduled(fixedDelayString = "${app.product-sync.poll-interval-ms:1000}")
+    @Transactional(readOnly = true)
+    public synchronized void poll() {
+        if (version < 0) {
+            version = productChangeRepository.findLatestVersion();
+            evictedUpTo = version;
+            return;
+        }
+        List<ProductChange> changes = productChangeRepository.findByIdGreaterThanOrderByIdAsc(version, Limit.of(batchSize));
+        if (changes.isEmpty()) {
+            gapSince = 0;
+            return;
+        }
+
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        long contiguous = version;
+        long firstAfterGap = 0;
+        boolean remoteChanges = false;
+        for (ProductChange change : changes) {
+            long id = change.getId();
+            if (id == contiguous + 1) {
+                contiguous = id;
+            } else if (firstAfterGap == 0) {
+                firstAfterGap = id;
+            }
+            // 本節點的寫入已由 Hibernate 在提交時更新本機快取
+            if (!nodeId.equals(change.getNodeId())) {
+                cache.evictEntityData(Product.class, change.getProductId());
+                remoteChanges = true;
+                if (id > evictedUpTo) {
+                    evictions.increment();
+                }
+            }
+            evictedUpTo = Math.max(evictedUpTo, id);
+        }
+        if (remoteChanges) {
+            // 分類清單與商品數的查詢結果無法依商品 ID 判斷，整個區域清除
+            cache.evictQueryRegion(SecondLevelCacheConfig.PRODUCT_CATEGORIES_REGION);
+            cache.evictQueryRegion(SecondLevelCacheConfig.PRODUCT_CATEGORY_COUNTS_REGION);
+        }
+
+        long now = System.currentTimeMillis();
+        if (firstAfterGap == 0) {
+            gapSince = 0;
+        } else if (contiguous > version || gapSince == 0) {
+            gapSince = now;
+        } else if (now - gapSince >= gapTimeoutMs) {
+            // 缺號的交易已回滾（或自增 ID 跳號），從缺號之後繼續
+            contiguous = firstAfterGap - 1;
+            gapSince = 0;
+        }
+        version = contiguous;
+    }
+
+    /**
+     * 刪除超過保留時間的異動紀錄（各節點皆會執行，重複刪除無副作用）
+     */
+    @Scheduled(fixedDelayString = "${app.product-sync.prune-interval-ms:3600000}",
+            initialDelayString = "${app.product-sync.prune-interval-ms:3600000}")
+    @Transactional
+    public void prune() {
+        int deleted = productChangeRepository.deleteChangedBefore(LocalDateTime.now().minusHours(retentionHours));
+        if (deleted > 0) {
+            System.out.println("🧹 已刪除 " + deleted + " 筆過期的商品異動紀錄");
+        }
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+}
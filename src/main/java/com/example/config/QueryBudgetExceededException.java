@@ -0,0 +1,11 @@
+package com.example.config;
+
+/**
+ * 請求的 SQL 數超過查詢預算或出現 N+1 查詢（僅 fail 模式丟出）
+ */
+public class QueryBudgetExceededException extends RuntimeException {
+
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
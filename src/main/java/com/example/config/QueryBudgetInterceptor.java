@@ -0,0 +1,96 @@
+package com.example.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 查詢預算檢查：每個 API 請求的 SQL 數不得超過端點預算，同一個 SELECT 樣式也不得重複過多次（N+1）
+ * fail 模式在回應完成前丟出 QueryBudgetExceededException（測試使用），
+ * log 模式在請求結束後記錄超標請求與其 SQL 樣式分布（正式環境使用）
+ */
+public class QueryBudgetInterceptor implements HandlerInterceptor {
+
+    public enum Mode {
+        OFF, LOG, FAIL
+    }
+
+    private final Mode mode;
+    private final int defaultBudget;
+    private final int repeatThreshold;
+    private final Map<String, Integer> endpointBudgets;
+
+    public QueryBudgetInterceptor(Mode mode, int defaultBudget, int repeatThreshold,
+                                  Map<String, Integer> endpointBudgets) {
+        this.mode = mode;
+        this.defaultBudget = defaultBudget;
+        this.repeatThreshold = repeatThreshold;
+        this.endpointBudgets = endpointBudgets;
+    }
+
+    /**
+     * 回應本文已在處理器內寫出（包含序列化時的延遲載入），此時的統計即為整個請求的 SQL
+     */
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        if (mode == Mode.FAIL) {
+            String violation = check(request);
+            if (violation != null) {
+                throw new QueryBudgetExceededException(violation);
+            }
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (mode == Mode.LOG) {
+            String violation = check(request);
+            if (violation != null) {
+                System.out.println("⚠️ " + violation);
+            }
+        }
+    }
+
+    /**
+     * @return 超標說明（含 SQL 樣式分布），未超標時為 null
+     */
+    private String check(HttpServletRequest request) {
+        RequestQueryStatistics statistics = RequestQueryStatistics.current();
+        if (statistics == null) {
+            return null;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : request.getRequestURI();
+        int budget = endpointBudgets.getOrDefault(uri, defaultBudget);
+
+        List<String> problems = new ArrayList<>();
+        int total = statistics.getStatementShapes().values().stream()
+                .mapToInt(RequestQueryStatistics.StatementShape::getCount).sum();
+        if (total > budget) {
+            problems.add("SQL " + total + " 條，超過預算 " + budget);
+        }
+        statistics.getStatementShapes().forEach((shape, counter) -> {
+            if (counter.getCount() >= repeatThreshold && shape.regionMatches(true, 0, "select", 0, 6)) {
+                problems.add("同一查詢重複 " + counter.getCount() + " 次（疑似 N+1）");
+            }
+        });
+        if (problems.isEmpty()) {
+            return null;
+        }
+
+        StringBuilder message = new StringBuilder("查詢預算超標 ")
+                .append(request.getMethod()).append(' ').append(uri).append("：")
+                .append(String.join("；", problems));
+        statistics.getStatementShapes().forEach((shape, counter) ->
+                message.append(System.lineSeparator()).append(String.format("  %3d × %s", counter.getCount(), shape)));
+        return message.toString();
+    }
+}
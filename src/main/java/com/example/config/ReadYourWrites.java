@@ -0,0 +1,92 @@
+package com.example.config;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * 讀寫一致性（read-your-writes）狀態
+ * 用戶端完成寫入後的一段時間內（以 Cookie 記錄期限），該用戶端的唯讀查詢固定走主庫，
+ * 避免因複本延遲而看不到自己剛建立的訂單
+ */
+public final class ReadYourWrites {
+
+    /**
+     * 記錄「固定走主庫至何時」的 Cookie 名稱，值為 epoch 毫秒
+     */
+    public static final String COOKIE_NAME = "rw_primary_until";
+
+    private static final ThreadLocal<Context> CURRENT = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    private static final class Context {
+        final HttpServletResponse response;
+        final long stickyMillis;
+        boolean pinned;
+        boolean cookieSent;
+
+        Context(HttpServletResponse response, long stickyMillis, boolean pinned) {
+            this.response = response;
+            this.stickyMillis = stickyMillis;
+            this.pinned = pinned;
+        }
+    }
+
+    /**
+     * 請求開始：依 Cookie 判斷是否仍在固定走主庫的期間內
+     */
+    static void begin(HttpServletRequest request, HttpServletResponse response, long stickyMillis) {
+        boolean pinned = false;
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (COOKIE_NAME.equals(cookie.getName())) {
+                    try {
+                        pinned = Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+                    } catch (NumberFormatException ignored) {
+                        // 格式錯誤的 Cookie 視同不存在
+                    }
+                }
+            }
+        }
+        CURRENT.set(new Context(response, stickyMillis, pinned));
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 寫入交易提交後呼叫：本請求剩餘的查詢與之後一段時間內的請求都固定走主庫
+     */
+    static void markWritten() {
+        Context context = CURRENT.get();
+        if (context == null) {
+            return;
+        }
+        context.pinned = true;
+        if (!context.cookieSent && !context.response.isCommitted()) {
+            long until = System.currentTimeMillis() + context.stickyMillis;
+            Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(until));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, context.stickyMillis / 1000));
+            context.response.addCookie(cookie);
+            context.cookieSent = true;
+        }
+    }
+
+    static boolean hasContext() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * 目前請求的唯讀查詢是否必須走主庫
+     */
+    public static boolean isPinnedToPrimary() {
+        Context context = CURRENT.get();
+        return context != null && context.pinned;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 讀寫分離路由資料來源
+ * 唯讀交易走複本，其餘（寫入交易、無交易、固定走主庫的請求）走主庫；
+ * 需搭配 LazyConnectionDataSourceProxy，讓連線在交易屬性設定完成後才實際取得
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Target.PRIMARY;
+        }
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return ReadYourWrites.isPinnedToPrimary() ? Target.PRIMARY : Target.REPLICA;
+        }
+        // 寫入交易：提交後讓此用戶端在複本追上之前都讀主庫
+        if (ReadYourWrites.hasContext() && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    ReadYourWrites.markWritten();
+                }
+            });
+        }
+        return Target.PRIMARY;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * API 請求指標：記錄每個請求的 SQL 次數與耗時、實體載入數、flush 次數，
+ * 以及 4xx/5xx 回應計數（依 URI 樣板分組）
+ * 請求總耗時與百分位數由 Spring Boot 內建的 http.server.requests 提供
+ */
+public class RequestMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    private final MeterRegistry meterRegistry;
+
+    public RequestMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestQueryStatistics.begin();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        RequestQueryStatistics statistics = RequestQueryStatistics.end();
+        if (statistics == null) {
+            return;
+        }
+        String uri = uri(request);
+        String method = request.getMethod();
+
+        DistributionSummary.builder("app.request.sql.statements")
+                .description("每個請求執行的 SQL 數")
+                .tags("uri", uri, "method", method)
+                .register(meterRegistry)
+                .record(statistics.getStatements());
+        Timer.builder("app.request.sql.time")
+                .description("每個請求的 SQL 執行總耗時")
+                .tags("uri", uri, "method", method)
+                .register(meterRegistry)
+                .record(statistics.getStatementNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("app.request.entity.loads")
+                .description("每個請求由查詢結果建立的實體數")
+                .tags("uri", uri, "method", method)
+                .register(meterRegistry)
+                .record(statistics.getEntityLoads());
+        DistributionSummary.builder("app.request.flushes")
+                .description("每個請求的 Hibernate flush 次數")
+                .tags("uri", uri, "method", method)
+                .register(meterRegistry)
+                .record(statistics.getFlushes());
+
+        int status = response.getStatus();
+        if (status >= 400 || ex != null) {
+            Counter.builder("app.request.errors")
+                    .description("錯誤回應數")
+                    .tags("uri", uri, "method", method,
+                            "status", ex != null && status < 400 ? "500" : Integer.toString(status))
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    /**
+     * 非同步請求（SSE、串流匯出）交由其他執行緒完成，只清除本執行緒的統計狀態
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        RequestQueryStatistics.end();
+    }
+
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
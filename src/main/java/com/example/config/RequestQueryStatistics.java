@@ -0,0 +1,229 @@
+package com.example.config;
+
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.Interceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 單一請求的 Hibernate 統計：SQL 執行次數與耗時、實體載入數、flush 次數、各 SQL 樣式的次數與耗時，
+ * 以及回應序列化的起訖時間（Server-Timing 與慢請求記錄使用）
+ * 由 RequestMetricsInterceptor 在請求開始時建立、結束時寫入指標；
+ * 請求以外的執行緒（排程、非同步匯出）沒有統計狀態，Hibernate 回呼直接略過
+ */
+public final class RequestQueryStatistics {
+
+    private static final ThreadLocal<RequestQueryStatistics> CURRENT = new ThreadLocal<>();
+
+    // IN 清單的參數個數不同仍視為同一種 SQL
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final long startNanos = System.nanoTime();
+    private long statements;
+    private long statementNanos;
+    private long statementStart;
+    private long entityLoads;
+    private long flushes;
+    private final Map<String, StatementShape> statementShapes = new LinkedHashMap<>();
+    private StatementShape currentShape;
+    private long serializeStartNanos;
+    private long serializeEndNanos;
+    private long statementNanosBeforeSerialize;
+
+    private RequestQueryStatistics() {
+    }
+
+    static RequestQueryStatistics begin() {
+        RequestQueryStatistics statistics = new RequestQueryStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    static RequestQueryStatistics current() {
+        return CURRENT.get();
+    }
+
+    static RequestQueryStatistics end() {
+        RequestQueryStatistics statistics = CURRENT.get();
+        CURRENT.remove();
+        return statistics;
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getStatementNanos() {
+        return statementNanos;
+    }
+
+    public long getEntityLoads() {
+        return entityLoads;
+    }
+
+    public long getFlushes() {
+        return flushes;
+    }
+
+    /**
+     * 各 SQL 樣式（參數與 IN 清單已正規化）的執行次數與耗時，依第一次出現的順序
+     */
+    public Map<String, StatementShape> getStatementShapes() {
+        return statementShapes;
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    void serializeStarted() {
+        serializeStartNanos = System.nanoTime();
+        statementNanosBeforeSerialize = statementNanos;
+    }
+
+    void serializeEnded() {
+        serializeEndNanos = System.nanoTime();
+    }
+
+    boolean isSerialized() {
+        return serializeEndNanos != 0;
+    }
+
+    /**
+     * 請求時間拆分（毫微秒）：db 為 SQL 執行時間；hydrate 為處理器內扣除 SQL 的時間
+     * （實體建立、對應與商業邏輯）；serialize 為 JSON 序列化扣除其間延遲載入 SQL 的時間
+     * @param endNanos 請求結束時間
+     * @return {db, hydrate, serialize, total}
+     */
+    public long[] timings(long endNanos) {
+        long handlerEnd = serializeStartNanos != 0 ? serializeStartNanos : endNanos;
+        long serializeEnd = serializeEndNanos != 0 ? serializeEndNanos : handlerEnd;
+        long serialize = serializeEnd - handlerEnd - (statementNanos - statementNanosBeforeSerialize);
+        long dbBeforeSerialize = serializeStartNanos != 0 ? statementNanosBeforeSerialize : statementNanos;
+        long hydrate = handlerEnd - startNanos - dbBeforeSerialize;
+        return new long[]{statementNanos, Math.max(0, hydrate), Math.max(0, serialize), endNanos - startNanos};
+    }
+
+    /**
+     * Server-Timing 標頭值，例如 db;dur=3.2, hydrate;dur=1.1, serialize;dur=0.4, total;dur=5.0
+     */
+    public String serverTiming(long endNanos) {
+        long[] timings = timings(endNanos);
+        return String.format(Locale.ROOT, "db;dur=%.1f, hydrate;dur=%.1f, serialize;dur=%.1f, total;dur=%.1f",
+                timings[0] / 1e6, timings[1] / 1e6, timings[2] / 1e6, timings[3] / 1e6);
+    }
+
+    /**
+     * 同一 SQL 樣式的累計次數與執行時間
+     */
+    public static final class StatementShape {
+
+        private int count;
+        private long nanos;
+
+        public int getCount() {
+            return count;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+    }
+
+    static String shapeOf(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return PARAMETER_LIST.matcher(shape).replaceAll("(?...)");
+    }
+
+    /**
+     * 每個 Session 一個實例（hibernate.session.events.auto），統計 SQL 執行與 flush
+     */
+    public static class SessionListener extends BaseSessionEventListener {
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            startStatement();
+        }
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            endStatement();
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            startStatement();
+        }
+
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            endStatement();
+        }
+
+        @Override
+        public void flushEnd(int numberOfEntities, int numberOfCollections) {
+            RequestQueryStatistics statistics = CURRENT.get();
+            if (statistics != null) {
+                statistics.flushes++;
+            }
+        }
+
+        private static void startStatement() {
+            RequestQueryStatistics statistics = CURRENT.get();
+            if (statistics != null) {
+                statistics.statementStart = System.nanoTime();
+            }
+        }
+
+        private static void endStatement() {
+            RequestQueryStatistics statistics = CURRENT.get();
+            if (statistics != null) {
+                long elapsed = System.nanoTime() - statistics.statementStart;
+                statistics.statements++;
+                statistics.statementNanos += elapsed;
+                if (statistics.currentShape != null) {
+                    statistics.currentShape.nanos += elapsed;
+                }
+            }
+        }
+    }
+
+    /**
+     * 記錄每條送往資料庫的 SQL 樣式，SQL 本身不做修改
+     */
+    static class ShapeInspector implements StatementInspector {
+
+        @Override
+        public String inspect(String sql) {
+            RequestQueryStatistics statistics = CURRENT.get();
+            if (statistics != null) {
+                StatementShape shape = statistics.statementShapes.computeIfAbsent(shapeOf(sql),
+                        key -> new StatementShape());
+                shape.count++;
+                statistics.currentShape = shape;
+            }
+            return sql;
+        }
+    }
+
+    /**
+     * SessionFactory 層級的攔截器，統計由查詢結果建立（hydrate）的實體數
+     */
+    static class LoadInterceptor implements Interceptor {
+
+        @Override
+        public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+            RequestQueryStatistics statistics = CURRENT.get();
+            if (statistics != null) {
+                statistics.entityLoads++;
+            }
+            return false;
+        }
+    }
+}
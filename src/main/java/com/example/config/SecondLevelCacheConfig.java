@@ -0,0 +1,75 @@
+package com.example.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate 二級快取設定（JCache，實作為行程內的 Caffeine）
+ * - product：商品實體，依 ID 查詢（商品詳情、訂單明細與封存訂單的商品）不必再查資料庫；
+ *   結帳與扣庫存等要修改的商品略過快取讀取資料庫，避免以其他節點已修改的舊值判斷
+ * - query.product-categories、query.product-category-counts：分類清單與各分類商品數的查詢結果
+ * 各區域皆有筆數上限與存活時間；經由實體寫入 products 表時 Hibernate 會自動讓查詢結果失效，
+ * 扣減與恢復庫存以 SQL 直接更新，只在提交後逐出該筆商品
+ * 命中率見 /actuator/metrics/hibernate.second.level.cache.requests 與 hibernate.cache.query.requests
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String PRODUCT_REGION = "product";
+    public static final String PRODUCT_CATEGORIES_REGION = "query.product-categories";
+    public static final String PRODUCT_CATEGORY_COUNTS_REGION = "query.product-category-counts";
+
+    @Value("${app.cache.product.max-entries:10000}")
+    private long productMaxEntries;
+
+    @Value("${app.cache.product.ttl-seconds:600}")
+    private long productTtlSeconds;
+
+    @Value("${app.cache.query.max-entries:1000}")
+    private long queryMaxEntries;
+
+    @Value("${app.cache.query.ttl-seconds:300}")
+    private long queryTtlSeconds;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CacheManager cacheManager = new CaffeineCachingProvider().getCacheManager();
+        cacheManager.createCache(PRODUCT_REGION, region(productMaxEntries, productTtlSeconds));
+        cacheManager.createCache(PRODUCT_CATEGORIES_REGION, region(queryMaxEntries, queryTtlSeconds));
+        cacheManager.createCache(PRODUCT_CATEGORY_COUNTS_REGION, region(queryMaxEntries, queryTtlSeconds));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                region(queryMaxEntries, queryTtlSeconds));
+        // 各資料表的最後更新時間，用來判斷查詢結果是否過期，不可被逐出
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>().setStatisticsEnabled(true));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            // 實體或查詢指定了未在上面建立的區域時啟動失敗，避免不知不覺使用沒有上限的預設快取
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maxEntries, long ttlSeconds) {
+        return new CaffeineConfiguration<>()
+                .setMaximumSize(OptionalLong.of(maxEntries))
+                .setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)))
+                .setStatisticsEnabled(true);
+    }
+}
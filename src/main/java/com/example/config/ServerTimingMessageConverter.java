@@ -0,0 +1,115 @@
+package com.example.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * 加上 Server-Timing 標頭的 JSON 轉換器
+ * API 回應先序列化到記憶體，量得序列化時間後再寫出標頭與本文；本文超過緩衝上限（大型清單）時
+ * 改為直接串流輸出，標頭只涵蓋到開始輸出為止（serialize 記為 0），其餘序列化時間仍計入指標與慢請求記錄。
+ * 不在 API 請求內（沒有統計狀態）或 SSE 推播的寫出維持原本的串流寫法
+ */
+public class ServerTimingMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public static final String HEADER = "Server-Timing";
+
+    static final int BUFFER_LIMIT = 64 * 1024;
+
+    public ServerTimingMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        RequestQueryStatistics statistics = RequestQueryStatistics.current();
+        if (statistics == null || statistics.isSerialized() || !(outputMessage instanceof ServletServerHttpResponse)) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+
+        statistics.serializeStarted();
+        SpillingOutputStream body = new SpillingOutputStream(statistics, outputMessage);
+        super.writeInternal(object, type, new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return body;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return outputMessage.getHeaders();
+            }
+        });
+        statistics.serializeEnded();
+        body.complete();
+    }
+
+    /**
+     * 未超過上限前寫入記憶體；超過時先寫出標頭與已緩衝的內容，之後直接寫到回應
+     */
+    private static final class SpillingOutputStream extends OutputStream {
+
+        private final RequestQueryStatistics statistics;
+        private final HttpOutputMessage outputMessage;
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+        private OutputStream target;
+
+        SpillingOutputStream(RequestQueryStatistics statistics, HttpOutputMessage outputMessage) {
+            this.statistics = statistics;
+            this.outputMessage = outputMessage;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (target == null && buffer.size() + 1 > BUFFER_LIMIT) {
+                spill();
+            }
+            (target != null ? target : buffer).write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (target == null && buffer.size() + len > BUFFER_LIMIT) {
+                spill();
+            }
+            (target != null ? target : buffer).write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (target != null) {
+                target.flush();
+            }
+        }
+
+        /**
+         * 序列化完成：仍在緩衝中時補上完整的標頭與長度後寫出
+         */
+        void complete() throws IOException {
+            if (target != null) {
+                return;
+            }
+            outputMessage.getHeaders().add(HEADER, statistics.serverTiming(System.nanoTime()));
+            outputMessage.getHeaders().setContentLength(buffer.size());
+            buffer.writeTo(outputMessage.getBody());
+            buffer = null;
+        }
+
+        private void spill() throws IOException {
+            outputMessage.getHeaders().add(HEADER, statistics.serverTiming(System.nanoTime()));
+            target = outputMessage.getBody();
+            buffer.writeTo(target);
+            buffer = null;
+        }
+    }
+}
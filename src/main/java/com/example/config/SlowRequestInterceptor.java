@@ -0,0 +1,49 @@
+package com.example.config;
+
+import com.example.service.SlowRequest;
+import com.example.service.SlowRequestLog;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 慢請求取樣：API 請求總耗時超過門檻時，將時間拆分與 SQL 樣式寫入 SlowRequestLog；
+ * 未超過門檻的請求只做一次時間比較
+ */
+public class SlowRequestInterceptor implements HandlerInterceptor {
+
+    private final SlowRequestLog slowRequestLog;
+
+    public SlowRequestInterceptor(SlowRequestLog slowRequestLog) {
+        this.slowRequestLog = slowRequestLog;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        RequestQueryStatistics statistics = RequestQueryStatistics.current();
+        if (statistics == null) {
+            return;
+        }
+        long end = System.nanoTime();
+        if (!slowRequestLog.isSlow(end - statistics.getStartNanos())) {
+            return;
+        }
+
+        long[] timings = statistics.timings(end);
+        List<SlowRequest.Statement> statements = new ArrayList<>(statistics.getStatementShapes().size());
+        statistics.getStatementShapes().forEach((sql, shape) ->
+                statements.add(new SlowRequest.Statement(sql, shape.getCount(), shape.getNanos() / 1e6)));
+        String path = request.getQueryString() != null
+                ? request.getRequestURI() + "?" + request.getQueryString()
+                : request.getRequestURI();
+
+        slowRequestLog.record(new SlowRequest(LocalDateTime.now(), request.getMethod(), path,
+                response.getStatus(), timings[3] / 1e6, timings[0] / 1e6, timings[1] / 1e6, timings[2] / 1e6,
+                statements));
+    }
+}
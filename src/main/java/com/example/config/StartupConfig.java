@@ -0,0 +1,43 @@
+package com.example.config;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.annotation.Schedules;
+import org.springframework.stereotype.Component;
+
+/**
+ * 啟動設定
+ * 正式環境啟用 spring.main.lazy-initialization 時，排程任務只會在 Bean 建立時註冊；
+ * 含 @Scheduled 方法的 Bean（儀表板推播與對帳、分析快照、訂單封存）改在應用程式就緒後建立，
+ * 不拖慢開始接收請求的時間。未啟用延遲初始化時這些 Bean 已於啟動時建立，此處不做任何事
+ */
+@Component
+public class StartupConfig {
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeScheduledBeans(ApplicationReadyEvent event) {
+        ConfigurableListableBeanFactory beanFactory = event.getApplicationContext().getBeanFactory();
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
+            if (!beanDefinition.isLazyInit() || !beanDefinition.isSingleton() || beanDefinition.isAbstract()) {
+                continue;
+            }
+            Class<?> beanType = beanFactory.getType(beanName, false);
+            if (beanType != null && hasScheduledMethods(beanType)) {
+                beanFactory.getBean(beanName);
+            }
+        }
+    }
+
+    private static boolean hasScheduledMethods(Class<?> beanType) {
+        MethodIntrospector.MetadataLookup<Boolean> scheduled = method ->
+                AnnotatedElementUtils.getMergedRepeatableAnnotations(method, Scheduled.class, Schedules.class)
+                        .isEmpty() ? null : Boolean.TRUE;
+        return !MethodIntrospector.selectMethods(beanType, scheduled).isEmpty();
+    }
+}
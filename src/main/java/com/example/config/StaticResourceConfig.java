@@ -0,0 +1,53 @@
+package com.example.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.web.WebProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+
+import java.time.Duration;
+
+/**
+ * 靜態資源快取設定
+ * /assets/** 為打包時加上內容雜湊的 JS/CSS（見 src/build/java 的 StaticAssetPipeline），
+ * 內容變更即換檔名，因此回傳一年 immutable 快取；其餘檔案（HTML 與開發時的原始檔名）
+ * 每次向伺服器重新驗證（Last-Modified）
+ * 有 .br/.gz 預先壓縮檔且瀏覽器支援時直接回傳壓縮檔，不在請求時壓縮
+ */
+@Configuration
+public class StaticResourceConfig implements WebMvcConfigurer {
+
+    private static final Duration ASSET_MAX_AGE = Duration.ofDays(365);
+
+    @Autowired
+    private WebProperties webProperties;
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        String[] locations = webProperties.getResources().getStaticLocations();
+
+        registry.addResourceHandler("/assets/**")
+                .addResourceLocations(subLocations(locations, "assets/"))
+                .setCacheControl(CacheControl.maxAge(ASSET_MAX_AGE).cachePublic().immutable())
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
+
+        // 取代 Spring Boot 預設的 /** 靜態資源對應
+        registry.addResourceHandler("/**")
+                .addResourceLocations(locations)
+                .setCacheControl(CacheControl.noCache())
+                .resourceChain(false)
+                .addResolver(new EncodedResourceResolver());
+    }
+
+    private static String[] subLocations(String[] locations, String directory) {
+        String[] result = new String[locations.length];
+        for (int i = 0; i < locations.length; i++) {
+            result[i] = locations[i].endsWith("/") ? locations[i] + directory : locations[i] + "/" + directory;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.config;
+
+import com.example.controller.ErrorResponse;
+import com.example.service.ErrorCode;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * API 流量控制設定：前台瀏覽、結帳、後台各自的限流與同時處理數上限（app.traffic.*）
+ * 用戶端以連線來源 IP 識別；部署在反向代理之後時需設定 server.forward-headers-strategy，
+ * 否則所有請求都會被視為同一個用戶端
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.traffic", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TrafficControlConfig {
+
+    @Value("${app.traffic.rate-limit.enabled:true}")
+    private boolean rateLimitEnabled;
+
+    @Value("${app.traffic.rate-limit.max-clients:100000}")
+    private int maxClients;
+
+    @Value("${app.traffic.rate-limit.idle-seconds:300}")
+    private long idleSeconds;
+
+    @Bean
+    public FilterRegistrationBean<TrafficControlFilter> trafficControlFilter(Environment environment,
+                                                                            ObjectMapper objectMapper,
+                                                                            MeterRegistry meterRegistry)
+            throws JsonProcessingException {
+        Binder binder = Binder.get(environment);
+        Map<TrafficControlFilter.TrafficClass, TrafficControlFilter.Policy> policies =
+                new EnumMap<>(TrafficControlFilter.TrafficClass.class);
+        for (TrafficControlFilter.TrafficClass trafficClass : TrafficControlFilter.TrafficClass.values()) {
+            String prefix = "app.traffic." + trafficClass.name().toLowerCase();
+            policies.put(trafficClass, binder.bind(prefix, TrafficControlFilter.Policy.class)
+                    .orElseThrow(() -> new IllegalStateException("缺少流量控制設定：" + prefix)));
+        }
+
+        // 拒絕時的回應本文固定不變，啟動時先序列化好
+        byte[] rateLimitedBody = objectMapper.writeValueAsBytes(errorResponse(ErrorCode.RATE_LIMITED));
+        byte[] overloadedBody = objectMapper.writeValueAsBytes(errorResponse(ErrorCode.SERVICE_BUSY));
+
+        FilterRegistrationBean<TrafficControlFilter> registration = new FilterRegistrationBean<>(
+                new TrafficControlFilter(policies, rateLimitEnabled ? maxClients : 0, idleSeconds * 1000,
+                        rateLimitedBody, overloadedBody, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        // 在讀寫一致性等其他過濾器之前，被拒絕的請求不做任何額外處理
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 50);
+        return registration;
+    }
+
+    private static ErrorResponse errorResponse(ErrorCode errorCode) {
+        return ErrorResponse.of(errorCode.name(), errorCode.getDefaultMessage());
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * API 流量控制
+ * 請求依路徑分為前台瀏覽、結帳與後台三類，各自有：
+ * 1. 每個用戶端 IP 的令牌桶限流，超過時回 429 與 Retry-After
+ * 2. 同時處理數上限（bulkhead），額滿且短暫等待後仍無空位時回 503
+ * 爬蟲打滿商品搜尋或訂單查詢時只會耗盡前台瀏覽的名額，結帳與後台仍有執行緒與資料庫連線可用
+ * 非同步請求（SSE、訂單匯出串流）只在同步處理階段佔用名額，開始非同步後即釋放
+ */
+public class TrafficControlFilter extends OncePerRequestFilter {
+
+    public enum TrafficClass {
+        STOREFRONT, CHECKOUT, ADMIN
+    }
+
+    /**
+     * 單一流量類別的設定
+     *
+     * @param permitsPerSecond 每個用戶端每秒可用的請求數
+     * @param burst 每個用戶端可累積的突發請求數
+     * @param maxConcurrent 同時處理數上限
+     * @param maxWaitMillis 額滿時最多等待空位的時間
+     */
+    public record Policy(double permitsPerSecond, int burst, int maxConcurrent, long maxWaitMillis) {
+    }
+
+    private record Lane(ClientRateLimiter rateLimiter, Semaphore bulkhead, long maxWaitMillis,
+                        Counter rateLimited, Counter shed) {
+    }
+
+    private final Map<TrafficClass, Lane> lanes = new EnumMap<>(TrafficClass.class);
+    private final byte[] rateLimitedBody;
+    private final byte[] overloadedBody;
+
+    /**
+     * @param maxClients 每個類別的限流表最多追蹤的用戶端數，0 表示不限流（只保留 bulkhead）
+     */
+    public TrafficControlFilter(Map<TrafficClass, Policy> policies, int maxClients, long idleMillis,
+                                byte[] rateLimitedBody, byte[] overloadedBody, MeterRegistry meterRegistry) {
+        for (TrafficClass trafficClass : TrafficClass.values()) {
+            Policy policy = policies.get(trafficClass);
+            String tag = trafficClass.name().toLowerCase();
+            ClientRateLimiter rateLimiter = maxClients > 0
+                    ? new ClientRateLimiter(policy.permitsPerSecond(), policy.burst(), maxClients, idleMillis)
+                    : null;
+            Semaphore bulkhead = new Semaphore(policy.maxConcurrent());
+            Gauge.builder("app.traffic.in_flight", bulkhead, semaphore -> policy.maxConcurrent() - semaphore.availablePermits())
+                    .description("目前處理中的請求數")
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            if (rateLimiter != null) {
+                Gauge.builder("app.traffic.clients", rateLimiter, ClientRateLimiter::getClientCount)
+                        .description("限流表中追蹤的用戶端數")
+                        .tag("class", tag)
+                        .register(meterRegistry);
+            }
+            Counter rateLimited = Counter.builder("app.traffic.rejected")
+                    .description("被拒絕的請求數")
+                    .tags("class", tag, "reason", "rate_limit")
+                    .register(meterRegistry);
+            Counter shed = Counter.builder("app.traffic.rejected")
+                    .description("被拒絕的請求數")
+                    .tags("class", tag, "reason", "bulkhead")
+                    .register(meterRegistry);
+            lanes.put(trafficClass, new Lane(rateLimiter, bulkhead, policy.maxWaitMillis(), rateLimited, shed));
+        }
+        this.rateLimitedBody = rateLimitedBody;
+        this.overloadedBody = overloadedBody;
+    }
+
+    /**
+     * 後台 /api/admin/**、結帳 POST /api/orders，其餘 API 皆屬前台瀏覽
+     */
+    static TrafficClass classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/api/admin/")) {
+            return TrafficClass.ADMIN;
+        }
+        if ("POST".equals(request.getMethod()) && path.equals("/api/orders")) {
+            return TrafficClass.CHECKOUT;
+        }
+        return TrafficClass.STOREFRONT;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Lane lane = lanes.get(classify(request));
+
+        long waitNanos = lane.rateLimiter() != null ? lane.rateLimiter().tryAcquire(request.getRemoteAddr()) : 0;
+        if (waitNanos > 0) {
+            lane.rateLimited().increment();
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            reject(response, HttpStatus.TOO_MANY_REQUESTS.value(), retryAfterSeconds, rateLimitedBody);
+            return;
+        }
+
+        boolean admitted;
+        try {
+            admitted = lane.bulkhead().tryAcquire(lane.maxWaitMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (!admitted) {
+            lane.shed().increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE.value(), 1, overloadedBody);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            lane.bulkhead().release();
+        }
+    }
+
+    private static void reject(HttpServletResponse response, int status, long retryAfterSeconds, byte[] body)
+            throws IOException {
+        response.setStatus(status);
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
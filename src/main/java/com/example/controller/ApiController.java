@@ -2,15 +2,40 @@ package com.example.controller;
 
 import com.example.entity.Order;
 import com.example.entity.Product;
+import com.example.service.DailySalesService;
+import com.example.service.DashboardMetricsService;
+import com.example.service.DashboardStreamService;
+import com.example.service.DomainException;
+import com.example.service.ErrorCode;
+import com.example.service.OrderExportService;
+import com.example.service.OrderPage;
 import com.example.service.OrderService;
+import com.example.service.OrderView;
 import com.example.service.ProductService;
+import com.example.service.ProductView;
+import com.example.service.AnalyticsQuery;
+import com.example.service.AnalyticsResult;
+import com.example.service.CategoryRevenue;
+import com.example.service.ColumnarAnalyticsService;
+import com.example.service.OrderArchiveService;
+import com.example.service.ProductSalesRank;
+import com.example.service.SalesAnalyticsService;
+import com.example.service.SalesSeries;
+import com.example.service.SalesTimeSeriesService;
+import com.example.service.SlowRequest;
+import com.example.service.SlowRequestLog;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
@@ -20,6 +45,8 @@ import java.util.Optional;
 /**
  * REST API 控制器
  * 提供前端所需的所有 API 接口
+ * 回應為型別化的 record（ApiResponse、ListResponse 等），實體轉為 ProductView/OrderView 後輸出
+ * 失敗時直接丟出例外，由 ApiExceptionHandler 統一轉為錯誤回應
  */
 @RestController
 @RequestMapping("/api")
@@ -32,89 +59,70 @@ public class ApiController {
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private DashboardMetricsService dashboardMetricsService;
+
+    @Autowired
+    private DailySalesService dailySalesService;
+
+    @Autowired
+    private DashboardStreamService dashboardStreamService;
+
+    @Autowired
+    private SalesTimeSeriesService salesTimeSeriesService;
+
+    @Autowired
+    private SalesAnalyticsService salesAnalyticsService;
+
+    @Autowired
+    private ColumnarAnalyticsService columnarAnalyticsService;
+
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+
+    @Autowired
+    private SlowRequestLog slowRequestLog;
+
     // ===== 商品相關 API =====
 
     /**
      * 獲取所有上架商品（前台用）
      */
     @GetMapping("/products")
-    public ResponseEntity<Map<String, Object>> getProducts(
+    public ResponseEntity<ListResponse<ProductView>> getProducts(
             @RequestParam(required = false) String category,
             @RequestParam(required = false) String search) {
 
-        try {
-            List<Product> products = productService.searchActiveProducts(category, search);
-            List<String> categories = productService.findAllCategories();
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", products);
-            response.put("categories", categories);
-            response.put("total", products.size());
-
-            return ResponseEntity.ok(response);
+        List<Product> products = productService.searchActiveProducts(category, search);
+        List<String> categories = productService.findAllCategories();
 
-        } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("message", "獲取商品失敗：" + e.getMessage());
-
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
-        }
+        return ResponseEntity.ok(ListResponse.ok(ProductView.listOf(products), categories));
     }
 
     /**
      * 根據ID獲取商品詳情
      */
     @GetMapping("/products/{id}")
-    public ResponseEntity<Map<String, Object>> getProduct(@PathVariable Long id) {
-        try {
-            Optional<Product> productOpt = productService.findProductById(id);
-
-            if (productOpt.isPresent() && productOpt.get().getIsActive()) {
-                Map<String, Object> response = new HashMap<>();
-                response.put("success", true);
-                response.put("data", productOpt.get());
-
-                return ResponseEntity.ok(response);
-            } else {
-                Map<String, Object> response = new HashMap<>();
-                response.put("success", false);
-                response.put("message", "商品不存在或已下架");
-
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
-            }
-
-        } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("message", "獲取商品詳情失敗：" + e.getMessage());
+    public ResponseEntity<ApiResponse<ProductView>> getProduct(@PathVariable Long id) {
+        Optional<Product> productOpt = productService.findProductById(id);
 
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        if (productOpt.isEmpty() || !productOpt.get().getIsActive()) {
+            throw new DomainException(ErrorCode.PRODUCT_NOT_FOUND, "商品不存在或已下架");
         }
+        return ResponseEntity.ok(ApiResponse.ok(ProductView.of(productOpt.get())));
     }
 
     /**
      * 獲取商品分類列表
      */
     @GetMapping("/categories")
-    public ResponseEntity<Map<String, Object>> getCategories() {
-        try {
-            List<String> categories = productService.findAllCategories();
+    public ResponseEntity<ApiResponse<List<String>>> getCategories() {
+        List<String> categories = productService.findAllCategories();
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", categories);
-
-            return ResponseEntity.ok(response);
-
-        } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("message", "獲取分類失敗：" + e.getMessage());
-
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
-        }
+        return ResponseEntity.ok(ApiResponse.ok(categories));
     }
 
     // ===== 訂單相關 API =====
@@ -123,100 +131,56 @@ public class ApiController {
      * 建立訂單
      */
     @PostMapping("/orders")
-    public ResponseEntity<Map<String, Object>> createOrder(@RequestBody Map<String, Object> orderData) {
-        try {
-            String customerName = (String) orderData.get("customerName");
-            String customerEmail = (String) orderData.get("customerEmail");
-            String customerPhone = (String) orderData.get("customerPhone");
-            String customerAddress = (String) orderData.get("customerAddress");
-            String notes = (String) orderData.get("notes");
-
-            @SuppressWarnings("unchecked")
-            Map<String, Object> cartItems = (Map<String, Object>) orderData.get("cartItems");
-
-            // 轉換購物車資料格式
-            Map<Long, Integer> items = new HashMap<>();
+    public ResponseEntity<ApiResponse<OrderView>> createOrder(@RequestBody Map<String, Object> orderData) {
+        String customerName = (String) orderData.get("customerName");
+        String customerEmail = (String) orderData.get("customerEmail");
+        String customerPhone = (String) orderData.get("customerPhone");
+        String customerAddress = (String) orderData.get("customerAddress");
+        String notes = (String) orderData.get("notes");
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> cartItems = (Map<String, Object>) orderData.get("cartItems");
+
+        // 轉換購物車資料格式
+        Map<Long, Integer> items = new HashMap<>();
+        if (cartItems != null) {
             for (Map.Entry<String, Object> entry : cartItems.entrySet()) {
                 Long productId = Long.valueOf(entry.getKey());
                 Integer quantity = (Integer) entry.getValue();
                 items.put(productId, quantity);
             }
+        }
 
-            Order order = orderService.createOrder(customerName, customerEmail, customerPhone,
-                    customerAddress, items, notes);
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "訂單建立成功");
-            response.put("data", order);
-
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
-
-        } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("message", "訂單建立失敗：" + e.getMessage());
+        Order order = orderService.createOrder(customerName, customerEmail, customerPhone,
+                customerAddress, items, notes);
 
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
-        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.ok("訂單建立成功", OrderView.of(order)));
     }
 
     /**
      * 查詢客戶訂單
      */
     @GetMapping("/orders/customer")
-    public ResponseEntity<Map<String, Object>> getCustomerOrders(
+    public ResponseEntity<ListResponse<OrderView>> getCustomerOrders(
             @RequestParam(required = false) String orderId,
             @RequestParam(required = false) String phone) {
 
-        try {
-            List<Order> orders = orderService.findCustomerOrders(orderId, phone);
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", orders);
-            response.put("total", orders.size());
-
-            return ResponseEntity.ok(response);
+        List<Order> orders = orderService.findCustomerOrders(orderId, phone);
 
-        } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("message", "查詢訂單失敗：" + e.getMessage());
-
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
-        }
+        return ResponseEntity.ok(ListResponse.ok(OrderView.listOf(orders)));
     }
 
     /**
      * 根據ID獲取訂單詳情
      */
     @GetMapping("/orders/{id}")
-    public ResponseEntity<Map<String, Object>> getOrder(@PathVariable Long id) {
-        try {
-            Optional<Order> orderOpt = orderService.findOrderById(id);
-
-            if (orderOpt.isPresent()) {
-                Map<String, Object> response = new HashMap<>();
-                response.put("success", true);
-                response.put("data", orderOpt.get());
-
-                return ResponseEntity.ok(response);
-            } else {
-                Map<String, Object> response = new HashMap<>();
-                response.put("success", false);
-                response.put("message", "訂單不存在");
-
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
-            }
-
-        } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("message", "獲取訂單詳情失敗：" + e.getMessage());
+    public ResponseEntity<ApiResponse<OrderView>> getOrder(@PathVariable Long id) {
+        Optional<Order> orderOpt = orderService.findOrderById(id);
 
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        if (orderOpt.isEmpty()) {
+            throw new DomainException(ErrorCode.ORDER_NOT_FOUND);
         }
+        return ResponseEntity.ok(ApiResponse.ok(OrderView.of(orderOpt.get())));
     }
 
     // ===== 後台管理 API =====
@@ -225,285 +189,253 @@ public class ApiController {
      * 獲取所有商品（後台用）
      */
     @GetMapping("/admin/products")
-    public ResponseEntity<Map<String, Object>> getAllProducts(
+    public ResponseEntity<ListResponse<ProductView>> getAllProducts(
             @RequestParam(required = false) String category,
             @RequestParam(required = false) String search,
             @RequestParam(required = false) Boolean isActive) {
 
-        try {
-            List<Product> products = productService.findProductsByConditions(category, search, isActive);
-            List<String> categories = productService.findAllCategories();
+        List<Product> products = productService.findProductsByConditions(category, search, isActive);
+        List<String> categories = productService.findAllCategories();
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", products);
-            response.put("categories", categories);
-            response.put("total", products.size());
-
-            return ResponseEntity.ok(response);
-
-        } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("message", "獲取商品失敗：" + e.getMessage());
-
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
-        }
+        return ResponseEntity.ok(ListResponse.ok(ProductView.listOf(products), categories));
     }
 
     /**
      * 新增商品
      */
     @PostMapping("/admin/products")
-    public ResponseEntity<Map<String, Object>> createProduct(@Valid @RequestBody Product product) {
-        try {
-            Product savedProduct = productService.saveProduct(product);
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "商品新增成功");
-            response.put("data", savedProduct);
-
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
-
-        } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("message", "新增商品失敗：" + e.getMessage());
+    public ResponseEntity<ApiResponse<ProductView>> createProduct(@Valid @RequestBody Product product) {
+        Product savedProduct = productService.saveProduct(product);
 
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
-        }
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.ok("商品新增成功", ProductView.of(savedProduct)));
     }
 
     /**
      * 更新商品
      */
     @PutMapping("/admin/products/{id}")
-    public ResponseEntity<Map<String, Object>> updateProduct(@PathVariable Long id,
-                                                             @Valid @RequestBody Product product) {
-        try {
-            Optional<Product> existingProductOpt = productService.findProductById(id);
-
-            if (!existingProductOpt.isPresent()) {
-                Map<String, Object> response = new HashMap<>();
-                response.put("success", false);
-                response.put("message", "商品不存在");
-
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
-            }
+    public ResponseEntity<ApiResponse<ProductView>> updateProduct(@PathVariable Long id,
+                                                                  @Valid @RequestBody Product product) {
+        Optional<Product> existingProductOpt = productService.findProductById(id);
 
-            product.setId(id);
-            Product updatedProduct = productService.saveProduct(product);
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "商品更新成功");
-            response.put("data", updatedProduct);
-
-            return ResponseEntity.ok(response);
+        if (existingProductOpt.isEmpty()) {
+            throw new DomainException(ErrorCode.PRODUCT_NOT_FOUND);
+        }
 
-        } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("message", "更新商品失敗：" + e.getMessage());
+        product.setId(id);
+        Product updatedProduct = productService.saveProduct(product);
 
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
-        }
+        return ResponseEntity.ok(ApiResponse.ok("商品更新成功", ProductView.of(updatedProduct)));
     }
 
     /**
      * 刪除商品
      */
     @DeleteMapping("/admin/products/{id}")
-    public ResponseEntity<Map<String, Object>> deleteProduct(@PathVariable Long id) {
-        try {
-            productService.deleteProduct(id);
+    public ResponseEntity<ApiResponse<Void>> deleteProduct(@PathVariable Long id) {
+        productService.deleteProduct(id);
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "商品刪除成功");
-
-            return ResponseEntity.ok(response);
-
-        } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("message", "刪除商品失敗：" + e.getMessage());
-
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
-        }
+        return ResponseEntity.ok(ApiResponse.ok("商品刪除成功", null));
     }
 
     /**
      * 切換商品上架狀態
      */
     @PatchMapping("/admin/products/{id}/toggle-status")
-    public ResponseEntity<Map<String, Object>> toggleProductStatus(@PathVariable Long id) {
-        try {
-            Product product = productService.toggleProductStatus(id);
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "商品狀態更新成功");
-            response.put("data", product);
-
-            return ResponseEntity.ok(response);
-
-        } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("message", "狀態更新失敗：" + e.getMessage());
+    public ResponseEntity<ApiResponse<ProductView>> toggleProductStatus(@PathVariable Long id) {
+        Product product = productService.toggleProductStatus(id);
 
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
-        }
+        return ResponseEntity.ok(ApiResponse.ok("商品狀態更新成功", ProductView.of(product)));
     }
 
     /**
      * 更新商品庫存
      */
     @PatchMapping("/admin/products/{id}/stock")
-    public ResponseEntity<Map<String, Object>> updateStock(@PathVariable Long id,
-                                                           @RequestBody Map<String, Integer> request) {
-        try {
-            Integer stock = request.get("stock");
-            Product product = productService.updateStock(id, stock);
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "庫存更新成功");
-            response.put("data", product);
-
-            return ResponseEntity.ok(response);
-
-        } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("message", "庫存更新失敗：" + e.getMessage());
+    public ResponseEntity<ApiResponse<ProductView>> updateStock(@PathVariable Long id,
+                                                                @RequestBody Map<String, Integer> request) {
+        Integer stock = request.get("stock");
+        Product product = productService.updateStock(id, stock);
 
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
-        }
+        return ResponseEntity.ok(ApiResponse.ok("庫存更新成功", ProductView.of(product)));
     }
 
     /**
-     * 獲取所有訂單（後台用）
+     * 分頁獲取訂單（後台用）
      */
     @GetMapping("/admin/orders")
-    public ResponseEntity<Map<String, Object>> getAllOrders(
+    public ResponseEntity<OrderPageResponse> getAllOrders(
             @RequestParam(required = false) String customerName,
             @RequestParam(required = false) String customerEmail,
             @RequestParam(required = false) String customerPhone,
-            @RequestParam(required = false) Order.OrderStatus status) {
+            @RequestParam(required = false) Order.OrderStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+
+        OrderPage page = orderService.findOrdersPage(customerName, customerEmail, customerPhone,
+                status, cursor, size);
 
-        try {
-            List<Order> orders = orderService.findOrdersByConditions(customerName, customerEmail, customerPhone, status);
+        return ResponseEntity.ok(OrderPageResponse.ok(page));
+    }
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", orders);
-            response.put("total", orders.size());
+    /**
+     * 匯出訂單（後台用，ndjson 或 csv，以串流方式輸出）
+     */
+    @GetMapping("/admin/orders/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(required = false) String customerName,
+            @RequestParam(required = false) String customerEmail,
+            @RequestParam(required = false) String customerPhone,
+            @RequestParam(required = false) Order.OrderStatus status,
+            @RequestParam(required = false) String format) {
 
-            return ResponseEntity.ok(response);
+        OrderExportService.Format exportFormat = OrderExportService.Format.of(format);
 
-        } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("message", "獲取訂單失敗：" + e.getMessage());
+        StreamingResponseBody body = outputStream -> orderExportService.exportOrders(
+                customerName, customerEmail, customerPhone, status, exportFormat, outputStream);
 
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
-        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"orders." + exportFormat.getExtension() + "\"")
+                .body(body);
     }
 
     /**
      * 更新訂單狀態
      */
     @PatchMapping("/admin/orders/{id}/status")
-    public ResponseEntity<Map<String, Object>> updateOrderStatus(@PathVariable Long id,
-                                                                 @RequestBody Map<String, String> request) {
-        try {
-            Order.OrderStatus status = Order.OrderStatus.valueOf(request.get("status"));
-            Order order = orderService.updateOrderStatus(id, status);
+    public ResponseEntity<ApiResponse<OrderView>> updateOrderStatus(@PathVariable Long id,
+                                                                    @RequestBody Map<String, String> request) {
+        String status = request.get("status");
+        if (status == null) {
+            throw new IllegalArgumentException("訂單狀態不能為空");
+        }
+        Order order = orderService.updateOrderStatus(id, Order.OrderStatus.valueOf(status));
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "訂單狀態更新成功");
-            response.put("data", order);
+        return ResponseEntity.ok(ApiResponse.ok("訂單狀態更新成功", OrderView.of(order)));
+    }
 
-            return ResponseEntity.ok(response);
+    /**
+     * 取消訂單
+     */
+    @PatchMapping("/admin/orders/{id}/cancel")
+    public ResponseEntity<ApiResponse<OrderView>> cancelOrder(@PathVariable Long id) {
+        Order order = orderService.cancelOrder(id);
 
-        } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("message", "狀態更新失敗：" + e.getMessage());
+        return ResponseEntity.ok(ApiResponse.ok("訂單取消成功，庫存已恢復", OrderView.of(order)));
+    }
 
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
-        }
+    /**
+     * 獲取儀表板統計數據（所有後台頁面共用同一份快照）
+     */
+    @GetMapping("/admin/dashboard")
+    public ResponseEntity<ApiResponse<ObjectNode>> getDashboardStats() {
+        return ResponseEntity.ok(ApiResponse.ok(dashboardStreamService.currentSnapshot()));
     }
 
     /**
-     * 取消訂單
+     * 儀表板即時推播（Server-Sent Events）
+     * 連線後先收到 snapshot 事件，之後只收到有變動欄位的 delta 事件
      */
-    @PatchMapping("/admin/orders/{id}/cancel")
-    public ResponseEntity<Map<String, Object>> cancelOrder(@PathVariable Long id) {
-        try {
-            Order order = orderService.cancelOrder(id);
+    @GetMapping(value = "/admin/dashboard/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDashboardStats() {
+        return dashboardStreamService.subscribe();
+    }
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "訂單取消成功，庫存已恢復");
-            response.put("data", order);
+    /**
+     * 銷售時間序列（resolution：minute、hour、day；資料來自記憶體，不查詢資料庫）
+     */
+    @GetMapping("/admin/metrics/sales")
+    public ResponseEntity<ApiResponse<SalesSeries>> getSalesSeries(
+            @RequestParam(required = false) String resolution,
+            @RequestParam(required = false) Integer points) {
 
-            return ResponseEntity.ok(response);
+        SalesSeries series = salesTimeSeriesService.query(SalesTimeSeriesService.Resolution.of(resolution), points);
 
-        } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("message", "取消訂單失敗：" + e.getMessage());
+        return ResponseEntity.ok(ApiResponse.ok(series));
+    }
 
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
-        }
+    /**
+     * 熱銷商品排行（預設最近 30 天，sortBy：quantity 或 revenue）
+     */
+    @GetMapping("/admin/analytics/top-products")
+    public ResponseEntity<DateRangeResponse<ProductSalesRank>> getTopProducts(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String sortBy) {
+
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        LocalDate start = startDate != null ? startDate : end.minusDays(29);
+        List<ProductSalesRank> ranks = salesAnalyticsService.findTopProducts(start, end,
+                Math.min(limit, 100), SalesAnalyticsService.SortBy.of(sortBy));
+
+        return ResponseEntity.ok(DateRangeResponse.ok(ranks, start, end));
     }
 
     /**
-     * 獲取儀表板統計數據
+     * 分類營收佔比（預設最近 30 天）
      */
-    @GetMapping("/admin/dashboard")
-    public ResponseEntity<Map<String, Object>> getDashboardStats() {
-        try {
-            // 商品統計
-            long activeProducts = productService.countActiveProducts();
-            long inactiveProducts = productService.countInactiveProducts();
-            List<Product> lowStockProducts = productService.findLowStockProducts(5);
-
-            // 訂單統計
-            List<Order> todayOrders = orderService.findTodayOrders();
-            List<Order> recentOrders = orderService.findRecentOrders(10);
-            BigDecimal todaySales = orderService.calculateTodaySales();
-            BigDecimal thisMonthSales = orderService.calculateThisMonthSales();
-
-            // 訂單狀態統計
-            List<Object[]> statusStats = orderService.getOrderStatusStatistics();
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("data", Map.of(
-                    "activeProducts", activeProducts,
-                    "inactiveProducts", inactiveProducts,
-                    "lowStockProducts", lowStockProducts,
-                    "todayOrdersCount", todayOrders.size(),
-                    "todaySales", todaySales,
-                    "thisMonthSales", thisMonthSales,
-                    "recentOrders", recentOrders,
-                    "statusStats", statusStats
-            ));
-
-            return ResponseEntity.ok(response);
-
-        } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("message", "獲取統計數據失敗：" + e.getMessage());
-
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
-        }
+    @GetMapping("/admin/analytics/category-revenue")
+    public ResponseEntity<DateRangeResponse<CategoryRevenue>> getCategoryRevenue(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        LocalDate start = startDate != null ? startDate : end.minusDays(29);
+        List<CategoryRevenue> revenues = salesAnalyticsService.findCategoryRevenue(start, end);
+
+        return ResponseEntity.ok(DateRangeResponse.ok(revenues, start, end));
+    }
+
+    /**
+     * 訂單明細分析查詢（在欄式快照上篩選、分組與加總）
+     */
+    @PostMapping("/admin/analytics/query")
+    public ResponseEntity<ApiResponse<AnalyticsResult>> queryAnalytics(@RequestBody AnalyticsQuery query) {
+        AnalyticsResult result = columnarAnalyticsService.query(query);
+
+        return ResponseEntity.ok(ApiResponse.ok(result));
+    }
+
+    /**
+     * 立即重建分析快照
+     */
+    @PostMapping("/admin/analytics/snapshot")
+    public ResponseEntity<ApiResponse<Void>> rebuildAnalyticsSnapshot() {
+        columnarAnalyticsService.rebuildSnapshot();
+
+        return ResponseEntity.ok(ApiResponse.ok("分析快照重建完成", null));
+    }
+
+    /**
+     * 最近的慢請求（含時間拆分與 SQL 樣式）
+     */
+    @GetMapping("/admin/slow-requests")
+    public ResponseEntity<ApiResponse<List<SlowRequest>>> getSlowRequests() {
+        return ResponseEntity.ok(ApiResponse.ok(slowRequestLog.findRecent()));
+    }
+
+    /**
+     * 立即執行訂單封存
+     */
+    @PostMapping("/admin/orders/archive")
+    public ResponseEntity<ApiResponse<Integer>> archiveOrders() {
+        int archived = orderArchiveService.archiveOldOrders();
+
+        return ResponseEntity.ok(ApiResponse.ok("訂單封存完成", archived));
+    }
+
+    /**
+     * 重建每日銷售彙總
+     */
+    @PostMapping("/admin/daily-sales/backfill")
+    public ResponseEntity<ApiResponse<Integer>> backfillDailySales() {
+        int rows = dailySalesService.backfill();
+        dashboardMetricsService.reconcile();
+
+        return ResponseEntity.ok(ApiResponse.ok("每日銷售彙總重建完成", rows));
     }
-}
\ No newline at end of file
+}
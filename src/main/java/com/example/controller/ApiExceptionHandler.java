@@ -0,0 +1,100 @@
+package com.example.controller;
+
+import com.example.config.QueryBudgetExceededException;
+import com.example.service.DomainException;
+import com.example.service.ErrorCode;
+import com.example.service.InsufficientStockException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * API 例外處理
+ * 業務例外（DomainException）依錯誤代碼轉為 HTTP 狀態；使用預設訊息的例外直接回傳啟動時建立好的回應，
+ * 帶有細節的訊息（例如不存在的訂單編號）才另建回應物件；庫存不足另附商品 ID 與現有庫存
+ * 參數錯誤、請求內容無法解析回 400；其餘非預期的例外連同堆疊追蹤記錄到日誌，回傳固定的 500 回應
+ * （不把例外訊息回給客戶端）。Spring MVC 自身的例外
+ * （請求格式、逾時、找不到資源等）交回框架預設處理
+ */
+@RestControllerAdvice(assignableTypes = ApiController.class)
+public class ApiExceptionHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(ApiExceptionHandler.class);
+    private static final String SERVICE_BUSY_RETRY_AFTER_SECONDS = "1";
+
+    private final Map<ErrorCode, ResponseEntity<ErrorResponse>> defaultResponses = new EnumMap<>(ErrorCode.class);
+
+    public ApiExceptionHandler() {
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            ResponseEntity.BodyBuilder builder = ResponseEntity.status(errorCode.getStatus());
+            if (errorCode == ErrorCode.SERVICE_BUSY) {
+                // 資料庫同時處理數額滿：與 TrafficControlFilter 的 503 相同，1 秒後重試
+                builder.header(HttpHeaders.RETRY_AFTER, SERVICE_BUSY_RETRY_AFTER_SECONDS);
+            }
+            defaultResponses.put(errorCode,
+                    builder.body(ErrorResponse.of(errorCode.name(), errorCode.getDefaultMessage())));
+        }
+    }
+
+    @ExceptionHandler(DomainException.class)
+    public ResponseEntity<ErrorResponse> handleDomainException(DomainException e) {
+        if (e.hasDefaultMessage()) {
+            return defaultResponses.get(e.getErrorCode());
+        }
+        return response(e.getErrorCode(), e.getMessage());
+    }
+
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<ErrorResponse> handleInsufficientStock(InsufficientStockException e) {
+        ErrorCode errorCode = e.getErrorCode();
+        return ResponseEntity.status(errorCode.getStatus()).body(ErrorResponse.insufficientStock(
+                errorCode.name(), e.getMessage(), e.getProductId(), e.getAvailable()));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException e) {
+        if (e.getMessage() == null) {
+            return defaultResponses.get(ErrorCode.INVALID_REQUEST);
+        }
+        return response(ErrorCode.INVALID_REQUEST, e.getMessage());
+    }
+
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<ErrorResponse> handleValidation(MethodArgumentNotValidException e) {
+        FieldError fieldError = e.getBindingResult().getFieldError();
+        if (fieldError == null || fieldError.getDefaultMessage() == null) {
+            return defaultResponses.get(ErrorCode.INVALID_REQUEST);
+        }
+        return response(ErrorCode.INVALID_REQUEST, fieldError.getDefaultMessage());
+    }
+
+    @ExceptionHandler({HttpMessageNotReadableException.class, TypeMismatchException.class})
+    public ResponseEntity<ErrorResponse> handleUnreadableRequest() {
+        return defaultResponses.get(ErrorCode.INVALID_REQUEST);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleUnexpected(Exception e) throws Exception {
+        if (e instanceof org.springframework.web.ErrorResponse || e instanceof QueryBudgetExceededException) {
+            // 重新丟出表示未處理：框架例外由 DefaultHandlerExceptionResolver 依預設回應，
+            // 查詢預算（fail 模式）須讓請求直接失敗
+            throw e;
+        }
+        log.error("API 發生未預期的錯誤", e);
+        return defaultResponses.get(ErrorCode.INTERNAL_ERROR);
+    }
+
+    private static ResponseEntity<ErrorResponse> response(ErrorCode errorCode, String message) {
+        return ResponseEntity.status(errorCode.getStatus()).body(ErrorResponse.of(errorCode.name(), message));
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.controller;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * API 回應（success/message/data），未設定的欄位不輸出
+ *
+ * @param success 是否成功
+ * @param message 訊息
+ * @param data 回應資料
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ApiResponse<T>(boolean success, String message, T data) {
+
+    public static <T> ApiResponse<T> ok(T data) {
+        return new ApiResponse<>(true, null, data);
+    }
+
+    public static <T> ApiResponse<T> ok(String message, T data) {
+        return new ApiResponse<>(true, message, data);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.controller;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 依日期區間查詢的分析回應
+ *
+ * @param success 是否成功
+ * @param message 錯誤訊息
+ * @param data 查詢結果
+ * @param startDate 區間起日
+ * @param endDate 區間迄日
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DateRangeResponse<T>(boolean success, String message, List<T> data, LocalDate startDate,
+                                   LocalDate endDate) {
+
+    public static <T> DateRangeResponse<T> ok(List<T> data, LocalDate startDate, LocalDate endDate) {
+        return new DateRangeResponse<>(true, null, data, startDate, endDate);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.controller;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * 錯誤回應（與 ApiResponse、ListResponse 的 success/message 欄位一致，另附固定的錯誤代碼）
+ *
+ * @param success 固定為 false
+ * @param code 錯誤代碼（ErrorCode 名稱）
+ * @param message 錯誤訊息
+ * @param productId 庫存不足的商品 ID（僅 INSUFFICIENT_STOCK）
+ * @param available 該商品目前的庫存（僅 INSUFFICIENT_STOCK）
+ */
+public record ErrorResponse(boolean success,
+                            String code,
+                            String message,
+                            @JsonInclude(JsonInclude.Include.NON_NULL) Long productId,
+                            @JsonInclude(JsonInclude.Include.NON_NULL) Integer available) {
+
+    public static ErrorResponse of(String code, String message) {
+        return new ErrorResponse(false, code, message, null, null);
+    }
+
+    public static ErrorResponse insufficientStock(String code, String message, Long productId, int available) {
+        return new ErrorResponse(false, code, message, productId, available);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.controller;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * 清單 API 回應：資料與筆數，商品清單另附分類
+ *
+ * @param success 是否成功
+ * @param message 錯誤訊息
+ * @param data 清單資料
+ * @param total 筆數
+ * @param categories 商品分類（僅商品清單）
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ListResponse<T>(boolean success, String message, List<T> data, Integer total,
+                              List<String> categories) {
+
+    public static <T> ListResponse<T> ok(List<T> data) {
+        return new ListResponse<>(true, null, data, data.size(), null);
+    }
+
+    public static <T> ListResponse<T> ok(List<T> data, List<String> categories) {
+        return new ListResponse<>(true, null, data, data.size(), categories);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.controller;
+
+import com.example.service.OrderPage;
+import com.example.service.OrderView;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * 後台訂單分頁回應
+ *
+ * @param success 是否成功
+ * @param message 錯誤訊息
+ * @param data 本頁訂單
+ * @param nextCursor 下一頁游標（沒有下一頁時為 null，仍輸出）
+ * @param hasMore 是否有下一頁
+ * @param total 符合條件的訂單數
+ * @param totalApproximate total 是否為估計值
+ */
+public record OrderPageResponse(boolean success,
+                                @JsonInclude(JsonInclude.Include.NON_NULL) String message,
+                                @JsonInclude(JsonInclude.Include.NON_NULL) List<OrderView> data,
+                                String nextCursor,
+                                @JsonInclude(JsonInclude.Include.NON_NULL) Boolean hasMore,
+                                @JsonInclude(JsonInclude.Include.NON_NULL) Long total,
+                                @JsonInclude(JsonInclude.Include.NON_NULL) Boolean totalApproximate) {
+
+    public static OrderPageResponse ok(OrderPage page) {
+        return new OrderPageResponse(true, null, OrderView.listOf(page.orders()), page.nextCursor(),
+                page.hasMore(), page.total(), page.totalApproximate());
+    }
+}
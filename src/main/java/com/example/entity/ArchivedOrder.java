@@ -0,0 +1,144 @@
+package com.example.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 已封存訂單實體類別
+ * 已送達或已取消且超過保留期限的訂單由 orders 搬移至此，欄位與 orders 相同並保留原訂單ID
+ */
+@Entity
+@Table(name = "orders_archive", indexes = {
+        @Index(name = "idx_orders_archive_customer_phone_normalized", columnList = "customer_phone_normalized"),
+        @Index(name = "idx_orders_archive_order_date", columnList = "order_date")
+})
+public class ArchivedOrder {
+
+    @Id
+    private Long id;
+
+    @Column(name = "customer_name", nullable = false, length = 100)
+    private String customerName;
+
+    @Column(name = "customer_email", length = 200)
+    private String customerEmail;
+
+    @Column(name = "customer_phone", nullable = false, length = 20)
+    private String customerPhone;
+
+    @Column(name = "customer_phone_normalized", length = 20)
+    private String customerPhoneNormalized;
+
+    @Column(name = "customer_address", nullable = false, columnDefinition = "TEXT")
+    private String customerAddress;
+
+    @Column(name = "total_amount", nullable = false, precision = 10, scale = 2)
+    private Money totalAmount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Order.OrderStatus status;
+
+    @Column(name = "order_date", nullable = false)
+    private LocalDateTime orderDate;
+
+    @Column(name = "notes", columnDefinition = "TEXT")
+    private String notes;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    @OneToMany(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", insertable = false, updatable = false)
+    @OrderBy("id")
+    private List<ArchivedOrderItem> orderItems = new ArrayList<>();
+
+    // 建構子
+    public ArchivedOrder() {
+    }
+
+    /**
+     * 轉換為（不受持久化管理的）訂單物件，供查詢結果沿用原本的訂單格式
+     */
+    public Order toOrder(Map<Long, Product> products) {
+        Order order = new Order(customerName, customerEmail, customerPhone, customerAddress, totalAmount);
+        order.setId(id);
+        order.setStatus(status);
+        order.setOrderDate(orderDate);
+        order.setNotes(notes);
+        for (ArchivedOrderItem archivedItem : orderItems) {
+            OrderItem item = new OrderItem();
+            item.setId(archivedItem.getId());
+            item.setProduct(products.get(archivedItem.getProductId()));
+            item.setProductName(archivedItem.getProductName());
+            item.setQuantity(archivedItem.getQuantity());
+            item.setUnitPrice(archivedItem.getUnitPrice());
+            order.addOrderItem(item);
+        }
+        return order;
+    }
+
+    // Getter
+    public Long getId() {
+        return id;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public String getCustomerEmail() {
+        return customerEmail;
+    }
+
+    public String getCustomerPhone() {
+        return customerPhone;
+    }
+
+    public String getCustomerPhoneNormalized() {
+        return customerPhoneNormalized;
+    }
+
+    public String getCustomerAddress() {
+        return customerAddress;
+    }
+
+    public Money getTotalAmount() {
+        return totalAmount;
+    }
+
+    public Order.OrderStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getOrderDate() {
+        return orderDate;
+    }
+
+    public String getNotes() {
+        return notes;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    public List<ArchivedOrderItem> getOrderItems() {
+        return orderItems;
+    }
+
+    @Override
+    public String toString() {
+        return "ArchivedOrder{" +
+                "id=" + id +
+                ", customerName='" + customerName + '\'' +
+                ", totalAmount=" + totalAmount +
+                ", status=" + status +
+                ", orderDate=" + orderDate +
+                ", archivedAt=" + archivedAt +
+                '}';
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * 已封存訂單項目實體類別
+ * 與 order_items 欄位相同並保留原ID；商品以ID保存，商品刪除後仍可查詢
+ */
+@Entity
+@Table(name = "order_items_archive", indexes = {
+        @Index(name = "idx_order_items_archive_order_id", columnList = "order_id")
+})
+public class ArchivedOrderItem {
+
+    @Id
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+
+    @Column(name = "unit_price", nullable = false, precision = 10, scale = 2)
+    private Money unitPrice;
+
+    @Column(name = "product_name", nullable = false, length = 200)
+    private String productName;
+
+    // 建構子
+    public ArchivedOrderItem() {
+    }
+
+    // Getter
+    public Long getId() {
+        return id;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public Money getUnitPrice() {
+        return unitPrice;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    @Override
+    public String toString() {
+        return "ArchivedOrderItem{" +
+                "id=" + id +
+                ", orderId=" + orderId +
+                ", productName='" + productName + '\'' +
+                ", quantity=" + quantity +
+                '}';
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.entity;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * 金額（新台幣，以「分」為單位的 long）
+ * 結帳加總、小計與分析彙總皆以 long 運算，不必每次建立 BigDecimal；只有與資料庫（MoneyConverter）
+ * 或 JSON（MoneyJson）互轉時才經過小數；可序列化，作為商品欄位存放於二級快取
+ * 進位規則：
+ * - 加、減、乘以數量皆為精確的整數運算，超出 long 範圍時拋出 ArithmeticException，不會溢位成錯誤金額
+ * - 由小數轉換（API 輸入、資料庫欄位）時依 HALF_UP 四捨五入到分，與資料表的 DECIMAL(…, 2) 相同
+ *
+ * @param cents 金額（分）
+ */
+@JsonSerialize(using = MoneyJson.Serializer.class)
+@JsonDeserialize(using = MoneyJson.Deserializer.class)
+public record Money(long cents) implements Comparable<Money>, Serializable {
+
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0);
+
+    private static final long CENTS_PER_UNIT = 100;
+
+    /**
+     * 以分建立金額
+     */
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    /**
+     * 以元（整數）建立金額
+     */
+    public static Money of(long units) {
+        return ofCents(Math.multiplyExact(units, CENTS_PER_UNIT));
+    }
+
+    /**
+     * 由小數建立金額，超過兩位小數時四捨五入（HALF_UP）
+     */
+    public static Money of(BigDecimal amount) {
+        return ofCents(toCents(amount));
+    }
+
+    /**
+     * 小數轉為分，超過兩位小數時四捨五入（HALF_UP）
+     */
+    public static long toCents(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public Money plus(Money other) {
+        return ofCents(Math.addExact(cents, other.cents));
+    }
+
+    public Money minus(Money other) {
+        return ofCents(Math.subtractExact(cents, other.cents));
+    }
+
+    public Money times(int quantity) {
+        return ofCents(Math.multiplyExact(cents, quantity));
+    }
+
+    public boolean isPositive() {
+        return cents > 0;
+    }
+
+    public int signum() {
+        return Long.signum(cents);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    /**
+     * 兩位小數的金額字串，例如 39900.00
+     */
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
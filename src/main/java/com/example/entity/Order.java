@@ -1,10 +1,10 @@
 package com.example.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -13,7 +13,11 @@ import java.util.List;
  * 訂單實體類別
  */
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_customer_phone_normalized", columnList = "customer_phone_normalized"),
+        @Index(name = "idx_orders_order_date_id", columnList = "order_date, id"),
+        @Index(name = "idx_orders_status_order_date", columnList = "status, order_date")
+})
 public class Order {
 
     @Id
@@ -32,13 +36,17 @@ public class Order {
     @Column(name = "customer_phone", nullable = false, length = 20)
     private String customerPhone;
 
+    @JsonIgnore
+    @Column(name = "customer_phone_normalized", length = 20)
+    private String customerPhoneNormalized; // 正規化電話（僅保留數字，供索引查詢）
+
     @NotBlank(message = "收件地址不能為空")
     @Column(name = "customer_address", nullable = false, columnDefinition = "TEXT")
     private String customerAddress;
 
     @NotNull(message = "總金額不能為空")
     @Column(name = "total_amount", nullable = false, precision = 10, scale = 2)
-    private BigDecimal totalAmount;
+    private Money totalAmount;
 
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false, length = 20)
@@ -78,19 +86,43 @@ public class Order {
     }
 
     public Order(String customerName, String customerEmail, String customerPhone,
-                 String customerAddress, BigDecimal totalAmount) {
+                 String customerAddress, Money totalAmount) {
         this.customerName = customerName;
         this.customerEmail = customerEmail;
         this.customerPhone = customerPhone;
+        this.customerPhoneNormalized = normalizePhone(customerPhone);
         this.customerAddress = customerAddress;
         this.totalAmount = totalAmount;
         this.status = OrderStatus.PENDING;
     }
 
+    /**
+     * 電話正規化：移除空白、連字號等非數字字元
+     */
+    public static String normalizePhone(String phone) {
+        if (phone == null) {
+            return null;
+        }
+        StringBuilder digits = new StringBuilder(phone.length());
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
     // JPA 生命週期回調
     @PrePersist
     protected void onCreate() {
         orderDate = LocalDateTime.now();
+        customerPhoneNormalized = normalizePhone(customerPhone);
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        customerPhoneNormalized = normalizePhone(customerPhone);
     }
 
     // 便利方法：新增訂單項目
@@ -143,6 +175,11 @@ public class Order {
 
     public void setCustomerPhone(String customerPhone) {
         this.customerPhone = customerPhone;
+        this.customerPhoneNormalized = normalizePhone(customerPhone);
+    }
+
+    public String getCustomerPhoneNormalized() {
+        return customerPhoneNormalized;
     }
 
     public String getCustomerAddress() {
@@ -153,11 +190,11 @@ public class Order {
         this.customerAddress = customerAddress;
     }
 
-    public BigDecimal getTotalAmount() {
+    public Money getTotalAmount() {
         return totalAmount;
     }
 
-    public void setTotalAmount(BigDecimal totalAmount) {
+    public void setTotalAmount(Money totalAmount) {
         this.totalAmount = totalAmount;
     }
 
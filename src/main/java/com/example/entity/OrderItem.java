@@ -1,10 +1,10 @@
 package com.example.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
-import java.math.BigDecimal;
 
 @Entity
 @Table(name = "order_items")
@@ -32,7 +32,7 @@ public class OrderItem {
     @NotNull(message = "單價不能為空")
     @Positive(message = "單價必須大於0")
     @Column(name = "unit_price", nullable = false, precision = 10, scale = 2)
-    private BigDecimal unitPrice;
+    private Money unitPrice;
 
     @Column(name = "product_name", nullable = false, length = 200)
     private String productName;
@@ -40,7 +40,7 @@ public class OrderItem {
     public OrderItem() {
     }
 
-    public OrderItem(Order order, Product product, Integer quantity, BigDecimal unitPrice) {
+    public OrderItem(Order order, Product product, Integer quantity, Money unitPrice) {
         this.order = order;
         this.product = product;
         this.quantity = quantity;
@@ -48,11 +48,19 @@ public class OrderItem {
         this.productName = product.getName();
     }
 
-    public BigDecimal getSubtotal() {
+    /**
+     * 小計（分），結帳加總時直接以 long 累加，不建立任何物件
+     */
+    @JsonIgnore
+    public long getSubtotalCents() {
         if (quantity != null && unitPrice != null) {
-            return unitPrice.multiply(new BigDecimal(quantity));
+            return Math.multiplyExact(unitPrice.cents(), quantity.longValue());
         }
-        return BigDecimal.ZERO;
+        return 0;
+    }
+
+    public Money getSubtotal() {
+        return Money.ofCents(getSubtotalCents());
     }
 
     public Long getId() {
@@ -90,11 +98,11 @@ public class OrderItem {
         this.quantity = quantity;
     }
 
-    public BigDecimal getUnitPrice() {
+    public Money getUnitPrice() {
         return unitPrice;
     }
 
-    public void setUnitPrice(BigDecimal unitPrice) {
+    public void setUnitPrice(Money unitPrice) {
         this.unitPrice = unitPrice;
     }
 
@@ -0,0 +1,17 @@
+package com.example.entity;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * 讓 @Positive 可用於 Money 欄位
+ * 經由 META-INF/services/jakarta.validation.ConstraintValidator 註冊，Spring 與 Hibernate 的驗證器皆適用
+ */
+public class PositiveMoneyValidator implements ConstraintValidator<Positive, Money> {
+
+    @Override
+    public boolean isValid(Money value, ConstraintValidatorContext context) {
+        return value == null || value.isPositive();
+    }
+}
@@ -5,14 +5,17 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
-import java.math.BigDecimal;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
 /**
  * 商品實體類別
+ * 存放於 Hibernate 二級快取的 product 區域（見 SecondLevelCacheConfig）
  */
 @Entity
 @Table(name = "products")
+@Cacheable
+@org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product")
 public class Product {
 
     @Id
@@ -30,7 +33,7 @@ public class Product {
     @NotNull(message = "價格不能為空")
     @Positive(message = "價格必須大於0")
     @Column(name = "price", nullable = false, precision = 10, scale = 2)
-    private BigDecimal price;
+    private Money price;
 
     @Column(name = "description", columnDefinition = "TEXT")
     private String description;
@@ -52,7 +55,7 @@ public class Product {
     public Product() {
     }
 
-    public Product(String name, String category, BigDecimal price, String description) {
+    public Product(String name, String category, Money price, String description) {
         this.name = name;
         this.category = category;
         this.price = price;
@@ -99,11 +102,11 @@ public class Product {
         this.category = category;
     }
 
-    public BigDecimal getPrice() {
+    public Money getPrice() {
         return price;
     }
 
-    public void setPrice(BigDecimal price) {
+    public void setPrice(Money price) {
         this.price = price;
     }
 
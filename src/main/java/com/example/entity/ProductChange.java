@@ -0,0 +1,78 @@
+package com.example.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 商品異動紀錄實體類別
+ * 商品新增、更新、刪除或庫存變動時於同一交易中寫入一筆，ID 即遞增的異動版本；
+ * 各節點輪詢大於自身已處理版本的紀錄，只逐出這些商品的本機快取（見 ProductCacheSynchronizer）
+ */
+@Entity
+@Table(name = "product_changes", indexes = {
+        @Index(name = "idx_product_changes_changed_at", columnList = "changed_at")
+})
+public class ProductChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // 不設外鍵：商品刪除後仍需保留紀錄通知其他節點
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    // 寫入的節點，該節點本身的快取已由 Hibernate 在交易提交時更新
+    @Column(name = "node_id", nullable = false, length = 64)
+    private String nodeId;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    // 建構子
+    public ProductChange() {
+    }
+
+    // Getter 和 Setter
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "ProductChange{" +
+                "id=" + id +
+                ", productId=" + productId +
+                ", nodeId='" + nodeId + '\'' +
+                ", changedAt=" + changedAt +
+                '}';
+    }
+}
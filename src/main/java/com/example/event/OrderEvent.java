@@ -0,0 +1,59 @@
+package com.example.event;
+
+import com.example.entity.Money;
+import com.example.entity.Order;
+import com.example.entity.OrderItem;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 訂單異動事件
+ * 訂單建立或狀態變更（含取消）時於交易內發布，監聽者於交易提交後更新各項統計
+ *
+ * @param type 事件類型
+ * @param orderId 訂單ID
+ * @param orderDate 下單時間
+ * @param previousStatus 變更前狀態，新建訂單為 null
+ * @param status 目前狀態
+ * @param totalAmount 訂單總金額
+ * @param items 訂單項目快照；僅在建立訂單、進入或離開取消狀態時提供，其餘狀態變更為空
+ */
+public record OrderEvent(Type type, Long orderId, LocalDateTime orderDate,
+                         Order.OrderStatus previousStatus, Order.OrderStatus status,
+                         Money totalAmount, List<Item> items) {
+
+    public enum Type {
+        CREATED,
+        STATUS_CHANGED
+    }
+
+    /**
+     * 訂單項目快照（交易提交後仍可安全讀取）
+     */
+    public record Item(Long productId, String productName, String category, int quantity, Money unitPrice) {
+    }
+
+    public static OrderEvent created(Order order) {
+        return new OrderEvent(Type.CREATED, order.getId(), order.getOrderDate(),
+                null, order.getStatus(), order.getTotalAmount(), itemsOf(order));
+    }
+
+    public static OrderEvent statusChanged(Order order, Order.OrderStatus previousStatus) {
+        // 只有進出取消狀態會影響銷售統計，此時才載入訂單項目
+        boolean affectsSales = (previousStatus == Order.OrderStatus.CANCELLED) != (order.getStatus() == Order.OrderStatus.CANCELLED);
+        return new OrderEvent(Type.STATUS_CHANGED, order.getId(), order.getOrderDate(),
+                previousStatus, order.getStatus(), order.getTotalAmount(), affectsSales ? itemsOf(order) : List.of());
+    }
+
+    private static List<Item> itemsOf(Order order) {
+        return order.getOrderItems().stream()
+                .map(OrderEvent::itemOf)
+                .toList();
+    }
+
+    private static Item itemOf(OrderItem orderItem) {
+        return new Item(orderItem.getProduct().getId(), orderItem.getProductName(),
+                orderItem.getProduct().getCategory(), orderItem.getQuantity(), orderItem.getUnitPrice());
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.event;
+
+/**
+ * 商品異動事件
+ * 商品新增、更新、刪除或庫存變動時於交易內發布
+ *
+ * @param type 事件類型
+ * @param productId 商品ID
+ */
+public record ProductEvent(Type type, Long productId) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        STOCK_CHANGED
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.repository;
+
+import com.example.entity.ArchivedOrder;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * 已封存訂單資料存取介面
+ * 原生 SQL 的寫入以 HINT_NATIVE_SPACES 標明影響的資料表，否則 Hibernate 會清空所有二級快取區域
+ */
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long> {
+
+    /**
+     * 依ID查詢封存訂單（含訂單項目）
+     */
+    @Query("SELECT DISTINCT o FROM ArchivedOrder o LEFT JOIN FETCH o.orderItems WHERE o.id = :id")
+    Optional<ArchivedOrder> findWithItemsById(@Param("id") Long id);
+
+    /**
+     * 依正規化電話查詢封存訂單（含訂單項目）
+     */
+    @Query("SELECT DISTINCT o FROM ArchivedOrder o LEFT JOIN FETCH o.orderItems " +
+            "WHERE o.customerPhoneNormalized = :phone ORDER BY o.orderDate DESC")
+    List<ArchivedOrder> findWithItemsByPhone(@Param("phone") String phone);
+
+    /**
+     * 將指定訂單複製到封存表
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "orders_archive"))
+    @Query(value = "INSERT INTO orders_archive (id, customer_name, customer_email, customer_phone, " +
+            "customer_phone_normalized, customer_address, total_amount, status, order_date, notes, archived_at) " +
+            "SELECT id, customer_name, customer_email, customer_phone, customer_phone_normalized, " +
+            "customer_address, total_amount, status, order_date, notes, :archivedAt " +
+            "FROM orders WHERE id IN (:ids)", nativeQuery = true)
+    int copyOrders(@Param("ids") List<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    /**
+     * 將指定訂單的項目複製到封存表
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "order_items_archive"))
+    @Query(value = "INSERT INTO order_items_archive (id, order_id, product_id, quantity, unit_price, product_name) " +
+            "SELECT id, order_id, product_id, quantity, unit_price, product_name " +
+            "FROM order_items WHERE order_id IN (:ids)", nativeQuery = true)
+    int copyOrderItems(@Param("ids") List<Long> ids);
+
+    /**
+     * 刪除熱資料表中已封存訂單的項目
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "order_items"))
+    @Query(value = "DELETE FROM order_items WHERE order_id IN (:ids)", nativeQuery = true)
+    int deleteHotOrderItems(@Param("ids") List<Long> ids);
+
+    /**
+     * 刪除熱資料表中已封存的訂單
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "orders"))
+    @Query(value = "DELETE FROM orders WHERE id IN (:ids)", nativeQuery = true)
+    int deleteHotOrders(@Param("ids") List<Long> ids);
+
+    /**
+     * 串流指定時間之後封存的未取消訂單明細（欄位順序同 OrderRepository.streamSoldItemsSince）
+     */
+    @Query("SELECT o.orderDate, i.productId, i.productName, p.category, i.quantity, i.unitPrice " +
+            "FROM ArchivedOrderItem i JOIN ArchivedOrder o ON o.id = i.orderId LEFT JOIN Product p ON p.id = i.productId " +
+            "WHERE o.orderDate >= :since AND o.status <> com.example.entity.Order.OrderStatus.CANCELLED")
+    Stream<Object[]> streamSoldItemsSince(@Param("since") LocalDateTime since);
+
+    /**
+     * 串流所有封存訂單明細（欄位順序同 OrderRepository.streamAllItemColumns）
+     */
+    @Query("SELECT o.orderDate, o.status, i.productId, p.category, i.quantity, i.unitPrice " +
+            "FROM ArchivedOrderItem i JOIN ArchivedOrder o ON o.id = i.orderId LEFT JOIN Product p ON p.id = i.productId")
+    Stream<Object[]> streamAllItemColumns();
+}
@@ -0,0 +1,91 @@
+package com.example.repository;
+
+import com.example.entity.DailySales;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 每日銷售彙總資料存取介面
+ * 原生 SQL 的寫入以 HINT_NATIVE_SPACES 標明影響的資料表，否則 Hibernate 會清空所有二級快取區域
+ */
+@Repository
+public interface DailySalesRepository extends JpaRepository<DailySales, Long> {
+
+    /**
+     * 累加指定日期與狀態的訂單數與金額，不存在時新增（單一陳述式，併發安全）
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_sales"))
+    @Query(value = "INSERT INTO daily_sales (sales_date, status, order_count, total_amount) " +
+            "VALUES (:salesDate, :status, :countDelta, :amountDelta) " +
+            "ON DUPLICATE KEY UPDATE order_count = order_count + :countDelta, " +
+            "total_amount = total_amount + :amountDelta", nativeQuery = true)
+    int upsertDelta(@Param("salesDate") LocalDate salesDate,
+                    @Param("status") String status,
+                    @Param("countDelta") long countDelta,
+                    @Param("amountDelta") BigDecimal amountDelta);
+
+    /**
+     * 清空彙總表（重建前使用）
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_sales"))
+    @Query(value = "DELETE FROM daily_sales", nativeQuery = true)
+    int deleteAllRows();
+
+    /**
+     * 由訂單資料（含封存訂單）重建彙總表
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "daily_sales"))
+    @Query(value = "INSERT INTO daily_sales (sales_date, status, order_count, total_amount) " +
+            "SELECT CAST(o.order_date AS DATE), o.status, COUNT(*), SUM(o.total_amount) " +
+            "FROM (SELECT order_date, status, total_amount FROM orders " +
+            "UNION ALL SELECT order_date, status, total_amount FROM orders_archive) o " +
+            "GROUP BY CAST(o.order_date AS DATE), o.status", nativeQuery = true)
+    int rebuildFromOrders();
+
+    /**
+     * 查詢指定日期之後的彙總資料
+     */
+    List<DailySales> findBySalesDateGreaterThanEqual(LocalDate salesDate);
+
+    /**
+     * 計算日期範圍內的總銷售額（排除已取消的訂單）
+     */
+    @Query("SELECT COALESCE(SUM(d.totalAmount), 0) FROM DailySales d " +
+            "WHERE d.salesDate BETWEEN :startDate AND :endDate AND d.status <> com.example.entity.Order.OrderStatus.CANCELLED")
+    BigDecimal sumTotalAmountExcludeCancelled(@Param("startDate") LocalDate startDate,
+                                             @Param("endDate") LocalDate endDate);
+
+    /**
+     * 統計日期範圍內各狀態訂單的總金額
+     */
+    @Query("SELECT d.status, SUM(d.totalAmount) FROM DailySales d " +
+            "WHERE d.salesDate BETWEEN :startDate AND :endDate GROUP BY d.status")
+    List<Object[]> sumAmountByStatus(@Param("startDate") LocalDate startDate,
+                                     @Param("endDate") LocalDate endDate);
+
+    /**
+     * 統計日期範圍內的訂單數量
+     */
+    @Query("SELECT COALESCE(SUM(d.orderCount), 0) FROM DailySales d WHERE d.salesDate BETWEEN :startDate AND :endDate")
+    long sumOrderCount(@Param("startDate") LocalDate startDate,
+                       @Param("endDate") LocalDate endDate);
+
+    /**
+     * 統計各狀態的訂單數量（全期間）
+     */
+    @Query("SELECT d.status, SUM(d.orderCount) FROM DailySales d GROUP BY d.status")
+    List<Object[]> sumOrderCountByStatus();
+}
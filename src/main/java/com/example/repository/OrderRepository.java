@@ -1,13 +1,20 @@
 package com.example.repository;
 
 import com.example.entity.Order;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * 訂單資料存取介面
@@ -15,6 +22,15 @@ import java.util.List;
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
+    /**
+     * 後台訂單篩選條件（複合查詢、分頁與匯出共用）
+     */
+    String ADMIN_CONDITIONS =
+            "(:customerName IS NULL OR :customerName = '' OR LOWER(o.customerName) LIKE LOWER(CONCAT('%', :customerName, '%'))) AND " +
+            "(:customerEmail IS NULL OR :customerEmail = '' OR o.customerEmail = :customerEmail) AND " +
+            "(:customerPhone IS NULL OR :customerPhone = '' OR o.customerPhone = :customerPhone) AND " +
+            "(:status IS NULL OR o.status = :status) ";
+
     /**
      * 依客戶名稱模糊查詢訂單
      */
@@ -41,28 +57,67 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByOrderDateBetweenOrderByOrderDateDesc(LocalDateTime startDate, LocalDateTime endDate);
 
     /**
-     * 依客戶聯絡資訊查詢訂單（客戶查詢自己的訂單用）
+     * 統計日期範圍內的訂單數量
      */
-    @Query("SELECT o FROM Order o WHERE " +
-            "(CAST(o.id AS string) = :orderId OR o.customerPhone = :phone) " +
-            "ORDER BY o.orderDate DESC")
-    List<Order> findCustomerOrders(@Param("orderId") String orderId,
-                                   @Param("phone") String customerPhone);
+    long countByOrderDateBetween(LocalDateTime startDate, LocalDateTime endDate);
+
+    /**
+     * 依正規化電話查詢訂單（走 customer_phone_normalized 索引，客戶查詢自己的訂單用）
+     */
+    List<Order> findByCustomerPhoneNormalizedOrderByOrderDateDesc(String customerPhoneNormalized);
 
     /**
      * 複合查詢：依多個條件查詢訂單（後台管理用）
      */
-    @Query("SELECT o FROM Order o WHERE " +
-            "(:customerName IS NULL OR :customerName = '' OR LOWER(o.customerName) LIKE LOWER(CONCAT('%', :customerName, '%'))) AND " +
-            "(:customerEmail IS NULL OR :customerEmail = '' OR o.customerEmail = :customerEmail) AND " +
-            "(:customerPhone IS NULL OR :customerPhone = '' OR o.customerPhone = :customerPhone) AND " +
-            "(:status IS NULL OR o.status = :status) " +
+    @Query("SELECT o FROM Order o WHERE " + ADMIN_CONDITIONS +
             "ORDER BY o.orderDate DESC")
     List<Order> findByConditions(@Param("customerName") String customerName,
                                  @Param("customerEmail") String customerEmail,
                                  @Param("customerPhone") String customerPhone,
                                  @Param("status") Order.OrderStatus status);
 
+    /**
+     * 後台訂單分頁查詢：以 (orderDate, id) 作為鍵集游標，取游標之後的下一頁
+     */
+    @Query("SELECT o FROM Order o WHERE " + ADMIN_CONDITIONS + "AND " +
+            "(:cursorDate IS NULL OR o.orderDate < :cursorDate OR (o.orderDate = :cursorDate AND o.id < :cursorId)) " +
+            "ORDER BY o.orderDate DESC, o.id DESC")
+    List<Order> findPageByConditions(@Param("customerName") String customerName,
+                                     @Param("customerEmail") String customerEmail,
+                                     @Param("customerPhone") String customerPhone,
+                                     @Param("status") Order.OrderStatus status,
+                                     @Param("cursorDate") LocalDateTime cursorDate,
+                                     @Param("cursorId") Long cursorId,
+                                     Limit limit);
+
+    /**
+     * 統計符合條件的訂單數量，最多計算到 cap 筆（超過時僅表示「cap 筆以上」）
+     */
+    @Query(value = "SELECT COUNT(*) FROM (SELECT 1 FROM orders o WHERE " +
+            "(:customerName IS NULL OR :customerName = '' OR LOWER(o.customer_name) LIKE LOWER(CONCAT('%', :customerName, '%'))) AND " +
+            "(:customerEmail IS NULL OR :customerEmail = '' OR o.customer_email = :customerEmail) AND " +
+            "(:customerPhone IS NULL OR :customerPhone = '' OR o.customer_phone = :customerPhone) AND " +
+            "(:status IS NULL OR o.status = :status) " +
+            "LIMIT :cap) t", nativeQuery = true)
+    long countByConditionsCapped(@Param("customerName") String customerName,
+                                 @Param("customerEmail") String customerEmail,
+                                 @Param("customerPhone") String customerPhone,
+                                 @Param("status") String status,
+                                 @Param("cap") int cap);
+
+    /**
+     * 以唯讀游標逐筆讀取符合條件的訂單欄位（匯出用，不載入實體與訂單項目）
+     * 欄位順序：id, orderDate, status, customerName, customerEmail, customerPhone, totalAmount
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT o.id, o.orderDate, o.status, o.customerName, o.customerEmail, o.customerPhone, o.totalAmount " +
+            "FROM Order o WHERE " + ADMIN_CONDITIONS +
+            "ORDER BY o.orderDate DESC, o.id DESC")
+    Stream<Object[]> streamByConditions(@Param("customerName") String customerName,
+                                        @Param("customerEmail") String customerEmail,
+                                        @Param("customerPhone") String customerPhone,
+                                        @Param("status") Order.OrderStatus status);
+
     /**
      * 查詢最近的訂單（限制筆數）
      */
@@ -70,22 +125,44 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findRecentOrders(@Param("limit") int limit);
 
     /**
-     * 統計各狀態的訂單數量
+     * 逐筆讀取指定時間之後的訂單時間、狀態與金額（時間序列初始化用）
      */
-    @Query("SELECT o.status as status, COUNT(o) as count FROM Order o GROUP BY o.status")
-    List<Object[]> countByStatus();
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT o.orderDate, o.status, o.totalAmount FROM Order o WHERE o.orderDate >= :since")
+    Stream<Object[]> streamSalesSince(@Param("since") LocalDateTime since);
 
     /**
-     * 查詢今日訂單
+     * 逐筆讀取指定時間之後、未取消訂單的商品銷售明細（銷售分析初始化用）
+     * 欄位順序：orderDate, productId, productName, category, quantity, unitPrice
      */
-    @Query("SELECT o FROM Order o WHERE DATE(o.orderDate) = CURRENT_DATE ORDER BY o.orderDate DESC")
-    List<Order> findTodayOrders();
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT o.orderDate, p.id, i.productName, p.category, i.quantity, i.unitPrice " +
+            "FROM OrderItem i JOIN i.order o JOIN i.product p " +
+            "WHERE o.orderDate >= :since AND o.status <> com.example.entity.Order.OrderStatus.CANCELLED")
+    Stream<Object[]> streamSoldItemsSince(@Param("since") LocalDateTime since);
 
     /**
-     * 查詢本月訂單
+     * 串流所有訂單明細（分析快照用）：下單時間、訂單狀態、商品ID、分類、數量、單價
      */
-    @Query("SELECT o FROM Order o WHERE YEAR(o.orderDate) = YEAR(CURRENT_DATE) AND MONTH(o.orderDate) = MONTH(CURRENT_DATE) ORDER BY o.orderDate DESC")
-    List<Order> findThisMonthOrders();
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT o.orderDate, o.status, p.id, p.category, i.quantity, i.unitPrice " +
+            "FROM OrderItem i JOIN i.order o JOIN i.product p")
+    Stream<Object[]> streamAllItemColumns();
+
+    /**
+     * 查詢可封存的訂單ID（指定狀態且早於截止時間），並鎖定這些訂單直到交易結束
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o.id FROM Order o WHERE o.status IN :statuses AND o.orderDate < :cutoff ORDER BY o.orderDate, o.id")
+    List<Long> findArchivableIds(@Param("statuses") List<Order.OrderStatus> statuses,
+                                 @Param("cutoff") LocalDateTime cutoff,
+                                 Limit limit);
+
+    /**
+     * 統計各狀態的訂單數量
+     */
+    @Query("SELECT o.status as status, COUNT(o) as count FROM Order o GROUP BY o.status")
+    List<Object[]> countByStatus();
 
     /**
      * 統計指定日期範圍內各狀態訂單的總金額
@@ -0,0 +1,37 @@
+package com.example.repository;
+
+import com.example.entity.ProductChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 商品異動紀錄資料存取介面
+ */
+@Repository
+public interface ProductChangeRepository extends JpaRepository<ProductChange, Long> {
+
+    /**
+     * 取指定版本之後的異動紀錄（依主鍵範圍查詢，每次輪詢只讀新增的幾筆）
+     */
+    List<ProductChange> findByIdGreaterThanOrderByIdAsc(Long version, Limit limit);
+
+    /**
+     * 目前最新的異動版本，尚無紀錄時為 0
+     */
+    @Query("SELECT COALESCE(MAX(c.id), 0) FROM ProductChange c")
+    long findLatestVersion();
+
+    /**
+     * 刪除早於指定時間的紀錄
+     */
+    @Modifying
+    @Query("DELETE FROM ProductChange c WHERE c.changedAt < :cutoff")
+    int deleteChangedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,8 +1,11 @@
 package com.example.repository;
 
 import com.example.entity.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -35,8 +38,12 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     List<Product> findByIsActiveTrueAndCategoryAndNameContainingIgnoreCaseOrderByCreatedAtDesc(String category, String name);
 
     /**
-     * 查詢所有不重複的商品分類（只包含上架商品）
+     * 查詢所有不重複的商品分類（只包含上架商品，結果存放於查詢快取）
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query.product-categories")
+    })
     @Query("SELECT DISTINCT p.category FROM Product p WHERE p.isActive = true ORDER BY p.category")
     List<String> findDistinctCategoriesByIsActiveTrue();
 
@@ -53,8 +60,12 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
                                    @Param("isActive") Boolean isActive);
 
     /**
-     * 統計各分類的上架商品數量
+     * 統計各分類的上架商品數量（結果存放於查詢快取）
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query.product-category-counts")
+    })
     @Query("SELECT p.category as category, COUNT(p) as count FROM Product p WHERE p.isActive = true GROUP BY p.category ORDER BY p.category")
     List<Object[]> countActiveProductsByCategory();
 
@@ -0,0 +1,22 @@
+package com.example.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 訂單明細分析查詢條件
+ * 篩選條件皆可省略；groupBy 可用：DATE、MONTH、WEEKDAY、STATUS、CATEGORY、PRODUCT
+ *
+ * @param startDate 起始日期（含）
+ * @param endDate 結束日期（含）
+ * @param statuses 訂單狀態
+ * @param categories 商品分類
+ * @param productIds 商品ID
+ * @param groupBy 分組維度
+ * @param sortBy 排序依據：quantity 或 revenue（預設）
+ * @param limit 最多回傳的分組數
+ */
+public record AnalyticsQuery(LocalDate startDate, LocalDate endDate, List<String> statuses,
+                             List<String> categories, List<Long> productIds, List<String> groupBy,
+                             String sortBy, Integer limit) {
+}
@@ -0,0 +1,34 @@
+package com.example.service;
+
+import com.example.entity.Money;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 訂單明細分析查詢結果
+ *
+ * @param groupBy 分組維度
+ * @param rows 各分組的統計（依排序依據由高到低）
+ * @param totalGroups 分組總數（未套用 limit 前）
+ * @param totalQuantity 符合條件的總銷售數量
+ * @param totalRevenue 符合條件的總金額
+ * @param scannedRows 掃描的明細筆數
+ * @param snapshotBuiltAt 快照建立時間
+ * @param elapsedMillis 查詢耗時（毫秒）
+ */
+public record AnalyticsResult(List<String> groupBy, List<Row> rows, int totalGroups,
+                              long totalQuantity, Money totalRevenue, int scannedRows,
+                              LocalDateTime snapshotBuiltAt, long elapsedMillis) {
+
+    /**
+     * 單一分組的統計
+     *
+     * @param keys 維度名稱 → 維度值
+     * @param quantity 銷售數量
+     * @param revenue 金額
+     */
+    public record Row(Map<String, Object> keys, long quantity, Money revenue) {
+    }
+}
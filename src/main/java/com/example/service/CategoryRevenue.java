@@ -0,0 +1,14 @@
+package com.example.service;
+
+import com.example.entity.Money;
+
+/**
+ * 分類營收佔比
+ *
+ * @param category 商品分類
+ * @param quantity 銷售數量
+ * @param revenue 銷售額
+ * @param share 佔總營收比例（0 ~ 1）
+ */
+public record CategoryRevenue(String category, long quantity, Money revenue, double share) {
+}
@@ -0,0 +1,323 @@
+package com.example.service;
+
+import com.example.entity.Money;
+import com.example.entity.Order;
+import com.example.repository.ArchivedOrderRepository;
+import com.example.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 欄式分析服務
+ * 定期將全部訂單明細載入為欄式快照（原生陣列），
+ * 篩選、分組與加總皆在快照上以 fork-join 平行計算，不再對線上資料表下臨時 SQL
+ */
+@Service
+public class ColumnarAnalyticsService {
+
+    private static final int DEFAULT_LIMIT = 100;
+    private static final int MAX_LIMIT = 1000;
+
+    // 每個子任務最多處理的列數，超過則再切分
+    private static final int SPLIT_THRESHOLD = 16_384;
+
+    /**
+     * 分組維度：每個維度的值編碼為固定位元數，多個維度合併成一個 long 分組鍵
+     */
+    public enum Dimension {
+        DATE(24) {
+            long code(OrderItemColumns columns, int row) {
+                return columns.epochDay(row);
+            }
+
+            Object label(OrderItemColumns columns, long code) {
+                return LocalDate.ofEpochDay(code);
+            }
+        },
+        MONTH(16) {
+            long code(OrderItemColumns columns, int row) {
+                return columns.epochMonth(row);
+            }
+
+            Object label(OrderItemColumns columns, long code) {
+                return YearMonth.of(1970 + (int) (code / 12), (int) (code % 12) + 1).toString();
+            }
+        },
+        WEEKDAY(3) {
+            long code(OrderItemColumns columns, int row) {
+                // 1970-01-01 為星期四
+                return Math.floorMod(columns.epochDay(row) + 3, 7) + 1;
+            }
+
+            Object label(OrderItemColumns columns, long code) {
+                return DayOfWeek.of((int) code);
+            }
+        },
+        STATUS(3) {
+            long code(OrderItemColumns columns, int row) {
+                return columns.status(row);
+            }
+
+            Object label(OrderItemColumns columns, long code) {
+                return Order.OrderStatus.values()[(int) code];
+            }
+        },
+        CATEGORY(16) {
+            long code(OrderItemColumns columns, int row) {
+                return columns.categoryId(row);
+            }
+
+            Object label(OrderItemColumns columns, long code) {
+                return columns.categoryNames().get((int) code);
+            }
+        },
+        PRODUCT(32) {
+            long code(OrderItemColumns columns, int row) {
+                return columns.productId(row);
+            }
+
+            Object label(OrderItemColumns columns, long code) {
+                return code;
+            }
+        };
+
+        private final int bits;
+
+        Dimension(int bits) {
+            this.bits = bits;
+        }
+
+        abstract long code(OrderItemColumns columns, int row);
+
+        abstract Object label(OrderItemColumns columns, long code);
+
+        public static Dimension of(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new IllegalArgumentException("不支援的分組維度：" + value);
+            }
+        }
+    }
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ArchivedOrderRepository archivedOrderRepository;
+
+    private volatile OrderItemColumns snapshot = OrderItemColumns.empty();
+
+    /**
+     * 重新建立欄式快照（含封存訂單，啟動時與排程執行），完成後整份替換
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.analytics.snapshot-interval-ms:600000}",
+            initialDelayString = "${app.analytics.snapshot-interval-ms:600000}")
+    @Transactional(readOnly = true)
+    public void rebuildSnapshot() {
+        long start = System.currentTimeMillis();
+        List<String> categoryNames = new ArrayList<>();
+        Map<String, Integer> categoryIds = new HashMap<>();
+        OrderItemColumns.Builder builder = new OrderItemColumns.Builder(categoryNames);
+
+        Consumer<Object[]> appendRow = row -> {
+            String category = row[3] != null ? (String) row[3] : "";
+            int categoryId = categoryIds.computeIfAbsent(category, name -> {
+                categoryNames.add(name);
+                return categoryNames.size() - 1;
+            });
+            builder.add(((LocalDateTime) row[0]).toLocalDate(), ((Order.OrderStatus) row[1]).ordinal(),
+                    (Long) row[2], categoryId, (Integer) row[4], ((Money) row[5]).cents());
+        };
+        try (Stream<Object[]> rows = orderRepository.streamAllItemColumns()) {
+            rows.forEach(appendRow);
+        }
+        try (Stream<Object[]> rows = archivedOrderRepository.streamAllItemColumns()) {
+            rows.forEach(appendRow);
+        }
+
+        snapshot = builder.build();
+        System.out.println("📊 分析快照已更新：" + snapshot.rowCount() + " 筆明細，耗時 "
+                + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    /**
+     * 在目前快照上執行篩選、分組與加總
+     */
+    public AnalyticsResult query(AnalyticsQuery query) {
+        long start = System.currentTimeMillis();
+        OrderItemColumns columns = snapshot;
+
+        Dimension[] dimensions = parseDimensions(query.groupBy());
+        RowFilter filter = RowFilter.of(query, columns);
+        boolean byQuantity = "quantity".equalsIgnoreCase(query.sortBy());
+        if (query.sortBy() != null && !byQuantity && !"revenue".equalsIgnoreCase(query.sortBy())) {
+            throw new IllegalArgumentException("不支援的排序依據：" + query.sortBy());
+        }
+        int limit = query.limit() == null || query.limit() <= 0 ? DEFAULT_LIMIT : Math.min(query.limit(), MAX_LIMIT);
+
+        LongSalesMap groups = ForkJoinPool.commonPool()
+                .invoke(new AggregateTask(columns, filter, dimensions, 0, columns.rowCount()));
+
+        List<long[]> entries = new ArrayList<>(groups.size());
+        long[] totals = new long[2];
+        groups.forEach((key, quantity, cents) -> {
+            entries.add(new long[]{key, quantity, cents});
+            totals[0] += quantity;
+            totals[1] += cents;
+        });
+        int sortIndex = byQuantity ? 1 : 2;
+        entries.sort(Comparator.<long[]>comparingLong(entry -> entry[sortIndex]).reversed());
+
+        List<AnalyticsResult.Row> rows = new ArrayList<>(Math.min(limit, entries.size()));
+        for (long[] entry : entries.subList(0, Math.min(limit, entries.size()))) {
+            rows.add(new AnalyticsResult.Row(decode(columns, dimensions, entry[0]), entry[1],
+                    Money.ofCents(entry[2])));
+        }
+
+        List<String> groupBy = Arrays.stream(dimensions).map(Dimension::name).toList();
+        return new AnalyticsResult(groupBy, rows, entries.size(), totals[0], Money.ofCents(totals[1]),
+                columns.rowCount(), columns.builtAt(), System.currentTimeMillis() - start);
+    }
+
+    private static Dimension[] parseDimensions(List<String> groupBy) {
+        if (groupBy == null) {
+            return new Dimension[0];
+        }
+        Dimension[] dimensions = groupBy.stream().map(Dimension::of).distinct().toArray(Dimension[]::new);
+        int bits = Arrays.stream(dimensions).mapToInt(dimension -> dimension.bits).sum();
+        if (bits > 63) {
+            throw new IllegalArgumentException("分組維度過多：" + groupBy);
+        }
+        return dimensions;
+    }
+
+    private static long encode(OrderItemColumns columns, Dimension[] dimensions, int row) {
+        long key = 0;
+        for (Dimension dimension : dimensions) {
+            key = (key << dimension.bits) | dimension.code(columns, row);
+        }
+        return key;
+    }
+
+    private static Map<String, Object> decode(OrderItemColumns columns, Dimension[] dimensions, long key) {
+        Object[] labels = new Object[dimensions.length];
+        for (int i = dimensions.length - 1; i >= 0; i--) {
+            long mask = (1L << dimensions[i].bits) - 1;
+            labels[i] = dimensions[i].label(columns, key & mask);
+            key >>>= dimensions[i].bits;
+        }
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (int i = 0; i < dimensions.length; i++) {
+            keys.put(dimensions[i].name(), labels[i]);
+        }
+        return keys;
+    }
+
+    /**
+     * 已編譯的篩選條件：分類與狀態轉為查表，商品ID 轉為排序陣列
+     */
+    private record RowFilter(long minDay, long maxDay, boolean[] statuses, boolean[] categories, long[] productIds) {
+
+        static RowFilter of(AnalyticsQuery query, OrderItemColumns columns) {
+            long minDay = query.startDate() != null ? query.startDate().toEpochDay() : Long.MIN_VALUE;
+            long maxDay = query.endDate() != null ? query.endDate().toEpochDay() : Long.MAX_VALUE;
+
+            boolean[] statuses = null;
+            if (query.statuses() != null && !query.statuses().isEmpty()) {
+                statuses = new boolean[Order.OrderStatus.values().length];
+                for (String status : query.statuses()) {
+                    try {
+                        statuses[Order.OrderStatus.valueOf(status.trim().toUpperCase()).ordinal()] = true;
+                    } catch (IllegalArgumentException | NullPointerException e) {
+                        throw new IllegalArgumentException("不支援的訂單狀態：" + status);
+                    }
+                }
+            }
+
+            boolean[] categories = null;
+            if (query.categories() != null && !query.categories().isEmpty()) {
+                categories = new boolean[columns.categoryNames().size()];
+                for (int i = 0; i < categories.length; i++) {
+                    categories[i] = query.categories().contains(columns.categoryNames().get(i));
+                }
+            }
+
+            long[] productIds = null;
+            if (query.productIds() != null && !query.productIds().isEmpty()) {
+                productIds = query.productIds().stream().mapToLong(Long::longValue).sorted().toArray();
+            }
+            return new RowFilter(minDay, maxDay, statuses, categories, productIds);
+        }
+
+        boolean matches(OrderItemColumns columns, int row) {
+            int day = columns.epochDay(row);
+            return day >= minDay && day <= maxDay
+                    && (statuses == null || statuses[columns.status(row)])
+                    && (categories == null || categories[columns.categoryId(row)])
+                    && (productIds == null || Arrays.binarySearch(productIds, columns.productId(row)) >= 0);
+        }
+    }
+
+    /**
+     * 將列範圍對半切分平行加總，再合併各段的分組結果
+     */
+    private static final class AggregateTask extends RecursiveTask<LongSalesMap> {
+
+        private final OrderItemColumns columns;
+        private final RowFilter filter;
+        private final Dimension[] dimensions;
+        private final int from;
+        private final int to;
+
+        AggregateTask(OrderItemColumns columns, RowFilter filter, Dimension[] dimensions, int from, int to) {
+            this.columns = columns;
+            this.filter = filter;
+            this.dimensions = dimensions;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected LongSalesMap compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                LongSalesMap groups = new LongSalesMap();
+                for (int row = from; row < to; row++) {
+                    if (filter.matches(columns, row)) {
+                        long quantity = columns.quantity(row);
+                        groups.add(encode(columns, dimensions, row), quantity, quantity * columns.unitPriceCents(row));
+                    }
+                }
+                return groups;
+            }
+            int middle = (from + to) >>> 1;
+            AggregateTask left = new AggregateTask(columns, filter, dimensions, from, middle);
+            left.fork();
+            LongSalesMap right = new AggregateTask(columns, filter, dimensions, middle, to).compute();
+            LongSalesMap merged = left.join();
+            merged.addAll(right);
+            return merged;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.service;
+
+import com.example.entity.Order;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 客戶訂單摘要快取
+ * 以正規化電話為鍵，短時間保存查詢結果，避免同一客戶重複查詢時反覆存取資料庫
+ */
+@Component
+public class CustomerOrderCache {
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Value("${app.customer-order-cache.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    @Value("${app.customer-order-cache.max-entries:10000}")
+    private int maxEntries;
+
+    private record Entry(List<Order> orders, long expiresAt) {
+    }
+
+    /**
+     * 取得快取中的訂單，過期或不存在時回傳 null
+     */
+    public List<Order> get(String normalizedPhone) {
+        if (normalizedPhone == null || normalizedPhone.isEmpty()) {
+            return null;
+        }
+        Entry entry = entries.get(normalizedPhone);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() < System.currentTimeMillis()) {
+            entries.remove(normalizedPhone, entry);
+            return null;
+        }
+        return entry.orders();
+    }
+
+    /**
+     * 寫入快取（呼叫端需確保訂單項目已載入）
+     */
+    public void put(String normalizedPhone, List<Order> orders) {
+        if (normalizedPhone == null || normalizedPhone.isEmpty()) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            purgeExpired();
+            if (entries.size() >= maxEntries) {
+                return; // 快取已滿，直接略過
+            }
+        }
+        entries.put(normalizedPhone, new Entry(List.copyOf(orders), System.currentTimeMillis() + ttlSeconds * 1000));
+    }
+
+    /**
+     * 移除指定客戶的快取（訂單新增或狀態變更時呼叫）
+     */
+    public void evict(String normalizedPhone) {
+        if (normalizedPhone != null) {
+            entries.remove(normalizedPhone);
+        }
+    }
+
+    private void purgeExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt() < now);
+    }
+}
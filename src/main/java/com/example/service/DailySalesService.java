@@ -0,0 +1,91 @@
+package com.example.service;
+
+import com.example.entity.Money;
+import com.example.event.OrderEvent;
+import com.example.repository.DailySalesRepository;
+import com.example.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 每日銷售彙總服務
+ * 訂單建立、狀態變更、取消時於同一交易中更新 daily_sales，並提供由訂單重建彙總的回填作業
+ * 彙總金額的查詢結果（SUM 為 BigDecimal）只在此轉為 Money，呼叫端一律取得 Money
+ */
+@Service
+@Transactional
+public class DailySalesService {
+
+    @Autowired
+    private DailySalesRepository dailySalesRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    /**
+     * 訂單異動時更新彙總（與訂單異動同一交易，失敗時一併回滾）
+     */
+    @EventListener
+    public void onOrderEvent(OrderEvent event) {
+        LocalDate salesDate = event.orderDate() != null ? event.orderDate().toLocalDate() : LocalDate.now();
+        BigDecimal amount = event.totalAmount() != null ? event.totalAmount().toBigDecimal() : BigDecimal.ZERO;
+
+        if (event.previousStatus() != null) {
+            dailySalesRepository.upsertDelta(salesDate, event.previousStatus().name(), -1, amount.negate());
+        }
+        dailySalesRepository.upsertDelta(salesDate, event.status().name(), 1, amount);
+    }
+
+    /**
+     * 啟動時若彙總表為空但已有訂單，自動回填（需在儀表板計數器載入前執行）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void backfillIfEmpty() {
+        if (dailySalesRepository.count() == 0 && orderRepository.count() > 0) {
+            int rows = backfill();
+            System.out.println("📊 每日銷售彙總回填完成，共 " + rows + " 筆");
+        }
+    }
+
+    /**
+     * 由訂單資料重建整個彙總表
+     * @return 重建後的彙總筆數
+     */
+    public int backfill() {
+        dailySalesRepository.deleteAllRows();
+        return dailySalesRepository.rebuildFromOrders();
+    }
+
+    /**
+     * 計算日期範圍內的總銷售額（排除已取消的訂單）
+     */
+    @Transactional(readOnly = true)
+    public Money sumSales(LocalDate startDate, LocalDate endDate) {
+        return toMoney(dailySalesRepository.sumTotalAmountExcludeCancelled(startDate, endDate));
+    }
+
+    /**
+     * 統計日期範圍內各狀態訂單的金額
+     */
+    @Transactional(readOnly = true)
+    public List<StatusSales> sumSalesByStatus(LocalDate startDate, LocalDate endDate) {
+        return dailySalesRepository.sumAmountByStatus(startDate, endDate).stream()
+                .map(row -> new StatusSales((com.example.entity.Order.OrderStatus) row[0],
+                        toMoney((BigDecimal) row[1])))
+                .toList();
+    }
+
+    private static Money toMoney(BigDecimal amount) {
+        return amount != null ? Money.of(amount) : Money.ZERO;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.service;
+
+import com.example.entity.Money;
+import com.example.entity.Order;
+
+import java.util.Map;
+
+/**
+ * 儀表板訂單統計快照
+ *
+ * @param todayOrdersCount 今日訂單數
+ * @param todaySales 今日銷售額（排除取消訂單）
+ * @param thisMonthSales 本月銷售額（排除取消訂單）
+ * @param statusCounts 各狀態訂單數
+ */
+public record DashboardMetrics(long todayOrdersCount, Money todaySales, Money thisMonthSales,
+                               Map<Order.OrderStatus, Long> statusCounts) {
+}
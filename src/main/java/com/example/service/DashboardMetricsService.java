@@ -0,0 +1,146 @@
+package com.example.service;
+
+import com.example.entity.Money;
+import com.example.entity.Order;
+import com.example.event.OrderEvent;
+import com.example.repository.DailySalesRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 儀表板統計服務
+ * 今日訂單數、今日/本月銷售額與各狀態訂單數以記憶體計數器維護，
+ * 訂單建立、狀態變更、取消時遞增更新，並定期與資料庫對帳修正誤差
+ */
+@Service
+public class DashboardMetricsService {
+
+    @Autowired
+    private DailySalesRepository dailySalesRepository;
+
+    @Autowired
+    private DailySalesService dailySalesService;
+
+    private final Object lock = new Object();
+
+    // 以下欄位皆在 lock 保護下存取，金額以「分」為單位
+    private LocalDate currentDate = LocalDate.now();
+    private long todayOrdersCount;
+    private long todaySalesCents;
+    private long thisMonthSalesCents;
+    private final long[] statusCounts = new long[Order.OrderStatus.values().length];
+
+    /**
+     * 啟動完成後先從資料庫載入一次
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reconcile();
+    }
+
+    /**
+     * 定期與資料庫對帳，修正事件遺漏或重複造成的誤差
+     */
+    @Scheduled(fixedDelayString = "${app.dashboard.reconcile-interval-ms:300000}",
+            initialDelayString = "${app.dashboard.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        LocalDate today = LocalDate.now();
+        LocalDate startOfMonth = today.withDayOfMonth(1);
+
+        // 由每日銷售彙總加總，只需讀取少量彙總列
+        long todayCount = dailySalesRepository.sumOrderCount(today, today);
+        Money todaySales = dailySalesService.sumSales(today, today);
+        Money monthSales = dailySalesService.sumSales(startOfMonth, today);
+        long[] counts = new long[statusCounts.length];
+        for (Object[] row : dailySalesRepository.sumOrderCountByStatus()) {
+            counts[((Order.OrderStatus) row[0]).ordinal()] = ((Number) row[1]).longValue();
+        }
+
+        synchronized (lock) {
+            currentDate = today;
+            todayOrdersCount = todayCount;
+            todaySalesCents = todaySales.cents();
+            thisMonthSalesCents = monthSales.cents();
+            System.arraycopy(counts, 0, statusCounts, 0, counts.length);
+        }
+    }
+
+    /**
+     * 訂單異動後更新計數器（交易提交後才套用）
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        long amount = event.totalAmount() != null ? event.totalAmount().cents() : 0;
+        LocalDate orderDay = event.orderDate() != null ? event.orderDate().toLocalDate() : LocalDate.now();
+
+        synchronized (lock) {
+            rollOver(LocalDate.now());
+            boolean isToday = orderDay.equals(currentDate);
+            boolean isThisMonth = orderDay.getYear() == currentDate.getYear()
+                    && orderDay.getMonthValue() == currentDate.getMonthValue();
+
+            if (event.previousStatus() != null) {
+                statusCounts[event.previousStatus().ordinal()]--;
+            }
+            statusCounts[event.status().ordinal()]++;
+
+            if (event.type() == OrderEvent.Type.CREATED && isToday) {
+                todayOrdersCount++;
+            }
+
+            // 銷售額排除取消訂單：新建、進入或離開取消狀態時調整
+            long salesDelta = salesWeight(event.status()) - salesWeight(event.previousStatus());
+            if (salesDelta != 0) {
+                if (isToday) {
+                    todaySalesCents += salesDelta * amount;
+                }
+                if (isThisMonth) {
+                    thisMonthSalesCents += salesDelta * amount;
+                }
+            }
+        }
+    }
+
+    /**
+     * 取得目前統計快照
+     */
+    public DashboardMetrics snapshot() {
+        synchronized (lock) {
+            rollOver(LocalDate.now());
+            Map<Order.OrderStatus, Long> counts = new EnumMap<>(Order.OrderStatus.class);
+            for (Order.OrderStatus status : Order.OrderStatus.values()) {
+                counts.put(status, statusCounts[status.ordinal()]);
+            }
+            return new DashboardMetrics(todayOrdersCount, Money.ofCents(todaySalesCents),
+                    Money.ofCents(thisMonthSalesCents), counts);
+        }
+    }
+
+    /**
+     * 跨日或跨月時歸零對應的計數器（需持有 lock）
+     */
+    private void rollOver(LocalDate today) {
+        if (today.equals(currentDate)) {
+            return;
+        }
+        if (today.getYear() != currentDate.getYear() || today.getMonthValue() != currentDate.getMonthValue()) {
+            thisMonthSalesCents = 0;
+        }
+        todayOrdersCount = 0;
+        todaySalesCents = 0;
+        currentDate = today;
+    }
+
+    private static int salesWeight(Order.OrderStatus status) {
+        return status == null || status == Order.OrderStatus.CANCELLED ? 0 : 1;
+    }
+}
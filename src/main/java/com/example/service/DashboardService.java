@@ -0,0 +1,76 @@
+package com.example.service;
+
+import com.example.entity.Order;
+import com.example.entity.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.JsonNodeFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 儀表板資料服務
+ * 組出儀表板所需的完整資料，並在交易內轉為 JSON 樹，讓快照可在交易外安全地共用與比對
+ */
+@Service
+public class DashboardService {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private DashboardMetricsService dashboardMetricsService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private ObjectMapper snapshotMapper;
+
+    @PostConstruct
+    void init() {
+        // 保留金額的小數位數，轉成 JSON 樹後輸出與直接序列化一致
+        snapshotMapper = objectMapper.copy().configure(JsonNodeFeature.STRIP_TRAILING_BIGDECIMAL_ZEROES, false);
+    }
+
+    /**
+     * 建立儀表板快照
+     */
+    @Transactional(readOnly = true)
+    public ObjectNode buildSnapshot() {
+        // 商品統計
+        long activeProducts = productService.countActiveProducts();
+        long inactiveProducts = productService.countInactiveProducts();
+        List<Product> lowStockProducts = productService.findLowStockProducts(5);
+
+        // 訂單統計（記憶體計數器）
+        DashboardMetrics metrics = dashboardMetricsService.snapshot();
+        List<Order> recentOrders = orderService.findRecentOrders(10);
+
+        // 訂單狀態統計
+        List<Object[]> statusStats = new ArrayList<>();
+        metrics.statusCounts().forEach((status, count) -> {
+            if (count > 0) {
+                statusStats.add(new Object[]{status, count});
+            }
+        });
+
+        ObjectNode snapshot = snapshotMapper.createObjectNode();
+        snapshot.put("activeProducts", activeProducts);
+        snapshot.put("inactiveProducts", inactiveProducts);
+        snapshot.set("lowStockProducts", snapshotMapper.valueToTree(ProductView.listOf(lowStockProducts)));
+        snapshot.put("todayOrdersCount", metrics.todayOrdersCount());
+        snapshot.set("todaySales", snapshotMapper.valueToTree(metrics.todaySales()));
+        snapshot.set("thisMonthSales", snapshotMapper.valueToTree(metrics.thisMonthSales()));
+        snapshot.set("recentOrders", snapshotMapper.valueToTree(OrderView.listOf(recentOrders)));
+        snapshot.set("statusStats", snapshotMapper.valueToTree(statusStats));
+        return snapshot;
+    }
+}
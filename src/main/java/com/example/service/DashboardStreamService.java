@@ -0,0 +1,167 @@
+package com.example.service;
+
+import com.example.event.OrderEvent;
+import com.example.event.ProductEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 儀表板推播服務
+ * 所有後台分頁共用同一份儀表板快照：由排程或訂單/商品事件觸發重新計算，
+ * 再以 Server-Sent Events 將有變動的欄位推送給所有連線中的後台頁面
+ */
+@Service
+public class DashboardStreamService {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.dashboard.refresh-interval-ms:30000}")
+    private long refreshIntervalMs;
+
+    @Value("${app.dashboard.heartbeat-interval-ms:15000}")
+    private long heartbeatIntervalMs;
+
+    @Value("${app.dashboard.sse-timeout-ms:1800000}")
+    private long sseTimeoutMs;
+
+    private final CopyOnWriteArrayList<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+
+    private volatile ObjectNode current;
+    private volatile ObjectNode lastBroadcast;
+    private volatile long builtAt;
+    private volatile long lastSentAt;
+
+    /**
+     * 取得目前共用快照，過期或有異動時才重新計算
+     */
+    public ObjectNode currentSnapshot() {
+        if (needsRefresh()) {
+            refreshIfNeeded();
+        }
+        return current;
+    }
+
+    /**
+     * 建立新的 SSE 連線，並先送出完整快照
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+
+        try {
+            ObjectNode snapshot = currentSnapshot();
+            emitter.send(SseEmitter.event().name("snapshot").data(snapshot));
+            if (lastBroadcast == null) {
+                lastBroadcast = snapshot;
+            }
+            emitters.add(emitter);
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    /**
+     * 訂單或商品異動後標記快照需更新，實際計算交給排程合併處理
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        dirty.set(true);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductEvent(ProductEvent event) {
+        dirty.set(true);
+    }
+
+    /**
+     * 定期檢查：有連線且快照需更新時重新計算並推送差異，否則送出心跳
+     */
+    @Scheduled(fixedDelayString = "${app.dashboard.push-interval-ms:2000}")
+    public void push() {
+        if (emitters.isEmpty()) {
+            return;
+        }
+        refreshIfNeeded();
+
+        ObjectNode snapshot = current;
+        ObjectNode delta = diff(lastBroadcast, snapshot);
+        if (!delta.isEmpty()) {
+            lastBroadcast = snapshot;
+            broadcast(SseEmitter.event().name("delta").data(delta));
+        } else if (System.currentTimeMillis() - lastSentAt >= heartbeatIntervalMs) {
+            broadcast(SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    /**
+     * 需要時重新計算快照（同一時間只有一個執行緒計算，其餘直接使用結果）
+     */
+    private synchronized void refreshIfNeeded() {
+        if (!needsRefresh()) {
+            return;
+        }
+        dirty.set(false);
+        current = dashboardService.buildSnapshot();
+        builtAt = System.currentTimeMillis();
+    }
+
+    /**
+     * 找出與前一份已推送快照相比有變動的欄位
+     */
+    private ObjectNode diff(ObjectNode previous, ObjectNode next) {
+        ObjectNode delta = objectMapper.createObjectNode();
+        for (Map.Entry<String, JsonNode> field : next.properties()) {
+            if (previous == null || !field.getValue().equals(previous.get(field.getKey()))) {
+                delta.set(field.getKey(), field.getValue());
+            }
+        }
+        return delta;
+    }
+
+    private boolean needsRefresh() {
+        return current == null || dirty.get() || System.currentTimeMillis() - builtAt >= refreshIntervalMs;
+    }
+
+    private void broadcast(SseEmitter.SseEventBuilder event) {
+        // 事件只組裝一次，所有連線共用同一份內容
+        Set<ResponseBodyEmitter.DataWithMediaType> data = event.build();
+        lastSentAt = System.currentTimeMillis();
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(data);
+            } catch (IOException | IllegalStateException e) {
+                emitters.remove(emitter);
+            }
+        }
+    }
+
+    /**
+     * 目前連線數
+     */
+    public int getSubscriberCount() {
+        return emitters.size();
+    }
+}
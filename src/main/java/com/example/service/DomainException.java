@@ -0,0 +1,32 @@
+package com.example.service;
+
+/**
+ * 業務規則造成的預期失敗（庫存不足、商品或訂單不存在、訂單狀態不允許等）
+ * 屬於正常流程的結果而非程式錯誤，因此不擷取堆疊追蹤也不記錄 suppressed 例外；
+ * 搶購時「庫存不足」是常見路徑，建立例外的成本只剩物件配置
+ * 由 ApiExceptionHandler 依 ErrorCode 轉為 HTTP 狀態與錯誤回應
+ */
+public class DomainException extends RuntimeException {
+
+    private final ErrorCode errorCode;
+
+    public DomainException(ErrorCode errorCode) {
+        this(errorCode, errorCode.getDefaultMessage());
+    }
+
+    public DomainException(ErrorCode errorCode, String message) {
+        super(message, null, false, false);
+        this.errorCode = errorCode;
+    }
+
+    public ErrorCode getErrorCode() {
+        return errorCode;
+    }
+
+    /**
+     * 訊息是否為錯誤代碼的預設訊息（可直接使用預先建立的錯誤回應）
+     */
+    public boolean hasDefaultMessage() {
+        return errorCode.getDefaultMessage().equals(getMessage());
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.service;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * 業務錯誤代碼
+ * 代碼字串（列舉名稱）為 API 回應 code 欄位的固定值，前端與監控可直接依代碼判斷，不解析訊息文字
+ */
+public enum ErrorCode {
+
+    PRODUCT_NOT_FOUND(HttpStatus.NOT_FOUND, "商品不存在"),
+    PRODUCT_INACTIVE(HttpStatus.CONFLICT, "商品已下架"),
+    INSUFFICIENT_STOCK(HttpStatus.CONFLICT, "庫存不足"),
+    ORDER_NOT_FOUND(HttpStatus.NOT_FOUND, "訂單不存在"),
+    ORDER_ALREADY_CANCELLED(HttpStatus.CONFLICT, "訂單已經是取消狀態"),
+    ORDER_ALREADY_DELIVERED(HttpStatus.CONFLICT, "已送達的訂單無法取消"),
+    EMPTY_ORDER(HttpStatus.BAD_REQUEST, "訂單中沒有有效商品"),
+    INVALID_REQUEST(HttpStatus.BAD_REQUEST, "請求參數錯誤"),
+    RATE_LIMITED(HttpStatus.TOO_MANY_REQUESTS, "請求過於頻繁，請稍後再試"),
+    SERVICE_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "系統忙碌中，請稍後再試"),
+    INTERNAL_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "系統發生錯誤");
+
+    private final HttpStatus status;
+    private final String defaultMessage;
+
+    ErrorCode(HttpStatus status, String defaultMessage) {
+        this.status = status;
+        this.defaultMessage = defaultMessage;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public String getDefaultMessage() {
+        return defaultMessage;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.service;
+
+/**
+ * 庫存不足
+ * 搶購時最常見的失敗：訊息固定為預設訊息，丟出時不組合字串；
+ * 商品 ID 與現有庫存記在欄位中，由 ApiExceptionHandler 放進錯誤回應，前端據此指出是哪一項商品
+ */
+public class InsufficientStockException extends DomainException {
+
+    private final Long productId;
+    private final int available;
+
+    public InsufficientStockException(Long productId, int available) {
+        super(ErrorCode.INSUFFICIENT_STOCK);
+        this.productId = productId;
+        this.available = available;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public int getAvailable() {
+        return available;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.service;
+
+import java.util.Arrays;
+
+/**
+ * 以 long 為鍵的銷售統計雜湊表（開放定址）
+ * 每個鍵保存銷售數量與銷售額（分），全部存放於原生陣列，避免 Long 裝箱與節點物件
+ * 非執行緒安全，由呼叫端負責同步
+ */
+public class LongSalesMap {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private long[] quantities;
+    private long[] revenueCents;
+    private int size;
+    private int threshold;
+
+    /**
+     * 走訪每個鍵的統計值
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, long quantity, long revenueCents);
+    }
+
+    public LongSalesMap() {
+        this(16);
+    }
+
+    public LongSalesMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * 累加指定鍵的數量與銷售額
+     */
+    public void add(long key, long quantity, long cents) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("不支援的鍵值：" + key);
+        }
+        int index = findSlot(keys, key);
+        if (keys[index] == EMPTY) {
+            keys[index] = key;
+            if (++size > threshold) {
+                rehash();
+                index = findSlot(keys, key);
+            }
+        }
+        quantities[index] += quantity;
+        revenueCents[index] += cents;
+    }
+
+    /**
+     * 將另一個表的所有統計值累加進來
+     */
+    public void addAll(LongSalesMap other) {
+        other.forEach(this::add);
+    }
+
+    public void forEach(EntryConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                consumer.accept(keys[i], quantities[i], revenueCents[i]);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        quantities = new long[capacity];
+        revenueCents = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        long[] oldQuantities = quantities;
+        long[] oldRevenue = revenueCents;
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int index = findSlot(keys, oldKeys[i]);
+                keys[index] = oldKeys[i];
+                quantities[index] = oldQuantities[i];
+                revenueCents[index] = oldRevenue[i];
+            }
+        }
+    }
+
+    private static int findSlot(long[] table, long key) {
+        int mask = table.length - 1;
+        int index = mix(key) & mask;
+        while (table[index] != EMPTY && table[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
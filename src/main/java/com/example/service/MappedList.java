@@ -0,0 +1,31 @@
+package com.example.service;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Function;
+
+/**
+ * 唯讀的轉換檢視：取用元素時才套用轉換函式
+ * 回應清單交給 Jackson 逐筆序列化時，每筆轉換結果用完即可回收，不必先建立整份轉換後的清單
+ */
+final class MappedList<S, T> extends AbstractList<T> implements RandomAccess {
+
+    private final List<S> source;
+    private final Function<? super S, ? extends T> mapper;
+
+    MappedList(List<S> source, Function<? super S, ? extends T> mapper) {
+        this.source = source instanceof RandomAccess ? source : List.copyOf(source);
+        this.mapper = mapper;
+    }
+
+    @Override
+    public T get(int index) {
+        return mapper.apply(source.get(index));
+    }
+
+    @Override
+    public int size() {
+        return source.size();
+    }
+}
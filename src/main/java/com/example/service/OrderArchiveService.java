@@ -0,0 +1,144 @@
+package com.example.service;
+
+import com.example.entity.ArchivedOrder;
+import com.example.entity.ArchivedOrderItem;
+import com.example.entity.Order;
+import com.example.entity.Product;
+import com.example.repository.ArchivedOrderRepository;
+import com.example.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 訂單封存服務
+ * 定期將超過保留天數的已送達、已取消訂單分批搬移至封存表，
+ * 讓 orders / order_items 只保留近期的熱資料；查詢在熱資料表找不到時才讀取封存表
+ */
+@Service
+public class OrderArchiveService {
+
+    /**
+     * 可封存的訂單狀態（不會再變動的最終狀態）
+     */
+    private static final List<Order.OrderStatus> ARCHIVABLE_STATUSES =
+            List.of(Order.OrderStatus.DELIVERED, Order.OrderStatus.CANCELLED);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ArchivedOrderRepository archivedOrderRepository;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.archive.age-days:90}")
+    private int ageDays;
+
+    @Value("${app.archive.batch-size:500}")
+    private int batchSize;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    /**
+     * 排程封存
+     */
+    @Scheduled(cron = "${app.archive.cron:0 30 3 * * *}")
+    public void scheduledArchive() {
+        if (enabled) {
+            archiveOldOrders();
+        }
+    }
+
+    /**
+     * 封存早於保留天數的訂單，每批在獨立交易中搬移，避免長時間鎖住大量資料
+     * @return 本次封存的訂單數
+     */
+    public int archiveOldOrders() {
+        if (!running.compareAndSet(false, true)) {
+            System.out.println("⚠️ 訂單封存作業執行中，略過本次請求");
+            return 0;
+        }
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(ageDays);
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            int total = 0;
+            int moved;
+            do {
+                moved = transaction.execute(status -> archiveBatch(cutoff));
+                total += moved;
+            } while (moved == batchSize);
+
+            if (total > 0) {
+                System.out.println("📦 已封存 " + total + " 筆訂單（" + cutoff.toLocalDate() + " 之前）");
+            }
+            return total;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<Long> ids = orderRepository.findArchivableIds(ARCHIVABLE_STATUSES, cutoff, Limit.of(batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime archivedAt = LocalDateTime.now();
+        archivedOrderRepository.copyOrders(ids, archivedAt);
+        archivedOrderRepository.copyOrderItems(ids);
+        archivedOrderRepository.deleteHotOrderItems(ids);
+        archivedOrderRepository.deleteHotOrders(ids);
+        return ids.size();
+    }
+
+    /**
+     * 依ID查詢封存訂單
+     */
+    @Transactional(readOnly = true)
+    public Optional<Order> findArchivedOrder(Long id) {
+        return archivedOrderRepository.findWithItemsById(id)
+                .map(archived -> archived.toOrder(loadProducts(List.of(archived))));
+    }
+
+    /**
+     * 依正規化電話查詢封存訂單（依下單時間由新到舊）
+     */
+    @Transactional(readOnly = true)
+    public List<Order> findArchivedOrdersByPhone(String normalizedPhone) {
+        List<ArchivedOrder> archived = archivedOrderRepository.findWithItemsByPhone(normalizedPhone);
+        if (archived.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Product> products = loadProducts(archived);
+        return archived.stream().map(order -> order.toOrder(products)).toList();
+    }
+
+    private Map<Long, Product> loadProducts(Collection<ArchivedOrder> orders) {
+        List<Long> productIds = orders.stream()
+                .flatMap(order -> order.getOrderItems().stream())
+                .map(ArchivedOrderItem::getProductId)
+                .distinct()
+                .toList();
+        // 封存訂單的商品多半是熱門商品，批次查詢先由二級快取取得
+        return productService.findProductsByIds(productIds);
+    }
+}
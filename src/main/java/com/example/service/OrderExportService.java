@@ -0,0 +1,161 @@
+package com.example.service;
+
+import com.example.entity.Money;
+import com.example.entity.Order;
+import com.example.repository.OrderRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 訂單匯出服務
+ * 以唯讀資料庫游標逐筆讀取並直接寫出，不在記憶體中累積整份結果
+ */
+@Service
+public class OrderExportService {
+
+    /**
+     * 每寫出多少筆資料就 flush 一次
+     */
+    private static final int FLUSH_INTERVAL = 500;
+
+    private static final String CSV_HEADER =
+            "id,orderDate,status,customerName,customerEmail,customerPhone,totalAmount";
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * 匯出格式
+     */
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format of(String value) {
+            if (value == null || value.trim().isEmpty()) {
+                return NDJSON;
+            }
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value.trim())) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("不支援的匯出格式：" + value);
+        }
+    }
+
+    /**
+     * 依後台篩選條件匯出訂單
+     */
+    @Transactional(readOnly = true)
+    public void exportOrders(String customerName, String customerEmail, String customerPhone,
+                             Order.OrderStatus status, Format format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        try (Stream<Object[]> rows = orderRepository.streamByConditions(customerName, customerEmail, customerPhone, status)) {
+            if (format == Format.CSV) {
+                writeCsv(rows.iterator(), writer);
+            } else {
+                writeNdjson(rows.iterator(), writer);
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeNdjson(Iterator<Object[]> rows, Writer writer) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        int count = 0;
+        while (rows.hasNext()) {
+            Object[] row = rows.next();
+            generator.writeStartObject();
+            generator.writeNumberField("id", (Long) row[0]);
+            generator.writeStringField("orderDate", String.valueOf(row[1]));
+            generator.writeStringField("status", ((Order.OrderStatus) row[2]).name());
+            generator.writeStringField("customerName", (String) row[3]);
+            generator.writeStringField("customerEmail", (String) row[4]);
+            generator.writeStringField("customerPhone", (String) row[5]);
+            generator.writeNumberField("totalAmount", ((Money) row[6]).toBigDecimal());
+            generator.writeEndObject();
+            if (++count % FLUSH_INTERVAL == 0) {
+                generator.flush();
+            }
+        }
+        if (count > 0) {
+            generator.writeRaw('\n');
+        }
+        generator.close();
+    }
+
+    private void writeCsv(Iterator<Object[]> rows, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+
+        int count = 0;
+        while (rows.hasNext()) {
+            Object[] row = rows.next();
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = row[i];
+                if (value instanceof Order.OrderStatus orderStatus) {
+                    writer.write(orderStatus.name());
+                } else if (value instanceof Money amount) {
+                    writer.write(amount.toString());
+                } else if (value != null) {
+                    writeCsvField(writer, value.toString());
+                }
+            }
+            writer.write('\n');
+            if (++count % FLUSH_INTERVAL == 0) {
+                writer.flush();
+            }
+        }
+    }
+
+    private void writeCsvField(Writer writer, String value) throws IOException {
+        boolean needsQuote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!needsQuote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 訂單明細欄式快照
+ * 每個欄位各自以原生陣列保存，同一列的資料位於各陣列的相同索引；
+ * 建立後不再修改，可由多個執行緒同時讀取
+ */
+public final class OrderItemColumns {
+
+    private final int rowCount;
+    private final int[] epochDays;
+    private final int[] epochMonths;
+    private final byte[] statuses;
+    private final long[] productIds;
+    private final int[] categoryIds;
+    private final int[] quantities;
+    private final long[] unitPriceCents;
+    private final List<String> categoryNames;
+    private final LocalDateTime builtAt;
+
+    private OrderItemColumns(Builder builder) {
+        this.rowCount = builder.size;
+        this.epochDays = Arrays.copyOf(builder.epochDays, builder.size);
+        this.epochMonths = Arrays.copyOf(builder.epochMonths, builder.size);
+        this.statuses = Arrays.copyOf(builder.statuses, builder.size);
+        this.productIds = Arrays.copyOf(builder.productIds, builder.size);
+        this.categoryIds = Arrays.copyOf(builder.categoryIds, builder.size);
+        this.quantities = Arrays.copyOf(builder.quantities, builder.size);
+        this.unitPriceCents = Arrays.copyOf(builder.unitPriceCents, builder.size);
+        this.categoryNames = List.copyOf(builder.categoryNames);
+        this.builtAt = LocalDateTime.now();
+    }
+
+    public static OrderItemColumns empty() {
+        return new Builder(List.of()).build();
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    public int epochDay(int row) {
+        return epochDays[row];
+    }
+
+    /**
+     * 自 1970 年 1 月起算的月份序號
+     */
+    public int epochMonth(int row) {
+        return epochMonths[row];
+    }
+
+    public int status(int row) {
+        return statuses[row];
+    }
+
+    public long productId(int row) {
+        return productIds[row];
+    }
+
+    public int categoryId(int row) {
+        return categoryIds[row];
+    }
+
+    public int quantity(int row) {
+        return quantities[row];
+    }
+
+    public long unitPriceCents(int row) {
+        return unitPriceCents[row];
+    }
+
+    /**
+     * 分類字典：索引即分類代碼
+     */
+    public List<String> categoryNames() {
+        return categoryNames;
+    }
+
+    public LocalDateTime builtAt() {
+        return builtAt;
+    }
+
+    /**
+     * 逐列附加資料，容量不足時倍增
+     */
+    public static final class Builder {
+
+        private int size;
+        private int[] epochDays = new int[1024];
+        private int[] epochMonths = new int[1024];
+        private byte[] statuses = new byte[1024];
+        private long[] productIds = new long[1024];
+        private int[] categoryIds = new int[1024];
+        private int[] quantities = new int[1024];
+        private long[] unitPriceCents = new long[1024];
+        private final List<String> categoryNames;
+
+        public Builder(List<String> categoryNames) {
+            this.categoryNames = categoryNames;
+        }
+
+        public Builder add(LocalDate day, int status, long productId, int categoryId, int quantity, long unitPriceCents) {
+            if (size == epochDays.length) {
+                grow();
+            }
+            this.epochDays[size] = (int) day.toEpochDay();
+            this.epochMonths[size] = (day.getYear() - 1970) * 12 + day.getMonthValue() - 1;
+            this.statuses[size] = (byte) status;
+            this.productIds[size] = productId;
+            this.categoryIds[size] = categoryId;
+            this.quantities[size] = quantity;
+            this.unitPriceCents[size] = unitPriceCents;
+            size++;
+            return this;
+        }
+
+        public OrderItemColumns build() {
+            return new OrderItemColumns(this);
+        }
+
+        private void grow() {
+            int capacity = epochDays.length << 1;
+            epochDays = Arrays.copyOf(epochDays, capacity);
+            epochMonths = Arrays.copyOf(epochMonths, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            productIds = Arrays.copyOf(productIds, capacity);
+            categoryIds = Arrays.copyOf(categoryIds, capacity);
+            quantities = Arrays.copyOf(quantities, capacity);
+            unitPriceCents = Arrays.copyOf(unitPriceCents, capacity);
+        }
+    }
+}
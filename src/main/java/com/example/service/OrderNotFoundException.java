@@ -0,0 +1,18 @@
+package com.example.service;
+
+/**
+ * 訂單不存在
+ */
+public class OrderNotFoundException extends DomainException {
+
+    private final Long orderId;
+
+    public OrderNotFoundException(Long orderId) {
+        super(ErrorCode.ORDER_NOT_FOUND, "訂單不存在：ID = " + orderId);
+        this.orderId = orderId;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.service;
+
+import com.example.entity.Order;
+
+import java.util.List;
+
+/**
+ * 後台訂單分頁結果
+ *
+ * @param orders 本頁訂單
+ * @param nextCursor 下一頁游標，沒有下一頁時為 null
+ * @param total 符合條件的訂單數（超過計數上限時為上限值）
+ * @param totalApproximate total 是否為估計值
+ */
+public record OrderPage(List<Order> orders, String nextCursor, long total, boolean totalApproximate) {
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
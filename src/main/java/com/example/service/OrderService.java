@@ -1,17 +1,27 @@
 package com.example.service;
 
+import com.example.config.ReadYourWrites;
+import com.example.entity.Money;
 import com.example.entity.Order;
 import com.example.entity.OrderItem;
 import com.example.entity.Product;
+import com.example.event.OrderEvent;
 import com.example.repository.OrderRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -23,27 +33,53 @@ import java.util.Optional;
 @Transactional
 public class OrderService {
 
+    /**
+     * 後台訂單分頁預設與最大筆數
+     */
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * 訂單總數計數上限，超過時回傳估計值
+     */
+    private static final int COUNT_CAP = 10_000;
+
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private DailySalesService dailySalesService;
+
     @Autowired
     private ProductService productService;
 
+    @Autowired
+    private CustomerOrderCache customerOrderCache;
+
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * 查詢所有訂單
      */
+    @Transactional(readOnly = true)
     public List<Order> findAllOrders() {
         return orderRepository.findAll();
     }
 
     /**
-     * 依ID查詢訂單
+     * 依ID查詢訂單，熱資料表找不到時再查封存表
      */
+    @Transactional(readOnly = true)
     public Optional<Order> findOrderById(Long id) {
         if (id == null) {
             return Optional.empty();
         }
-        return orderRepository.findById(id);
+        Optional<Order> order = orderRepository.findById(id);
+        return order.isPresent() ? order : orderArchiveService.findArchivedOrder(id);
     }
 
     /**
@@ -73,15 +109,18 @@ public class OrderService {
         }
 
         // 建立訂單
-        BigDecimal totalAmount = BigDecimal.ZERO;
+        long totalCents = 0;
         Order order = new Order(customerName.trim(),
                 customerEmail != null ? customerEmail.trim() : null,
                 customerPhone.trim(),
                 customerAddress.trim(),
-                totalAmount);
+                Money.ZERO);
         order.setNotes(notes != null ? notes.trim() : null);
 
-        // 處理購物車項目
+        // 處理購物車項目：商品一次載入且略過二級快取，庫存檢查與扣減都使用資料庫中的最新值
+        // （其他節點剛扣過庫存而本機快取尚未同步時也不會誤判）；實際扣減由 reduceStock 以條件式 UPDATE 完成，
+        // 與其他請求同時扣同一商品時，庫存不足的一方仍會失敗
+        Map<Long, Product> products = productService.findProductsForUpdate(cartItems.keySet());
         for (Map.Entry<Long, Integer> entry : cartItems.entrySet()) {
             Long productId = entry.getKey();
             Integer quantity = entry.getValue();
@@ -90,41 +129,41 @@ public class OrderService {
                 continue; // 跳過無效數量
             }
 
-            Optional<Product> optionalProduct = productService.findProductById(productId);
-            if (optionalProduct.isPresent()) {
-                Product product = optionalProduct.get();
-
+            Product product = products.get(productId);
+            if (product != null) {
                 // 檢查商品是否上架
                 if (!product.getIsActive()) {
-                    throw new RuntimeException("商品已下架：" + product.getName());
+                    throw new ProductInactiveException(product.getName());
                 }
 
                 // 檢查庫存是否足夠
                 if (product.getStockQuantity() < quantity) {
-                    throw new RuntimeException("庫存不足：商品「" + product.getName() + "」目前庫存 " +
-                            product.getStockQuantity() + "，需要 " + quantity);
+                    throw new InsufficientStockException(productId, product.getStockQuantity());
                 }
 
                 // 建立訂單項目
                 OrderItem orderItem = new OrderItem(order, product, quantity, product.getPrice());
                 order.addOrderItem(orderItem);
 
-                // 累加總金額
-                totalAmount = totalAmount.add(orderItem.getSubtotal());
+                // 累加總金額（以分累加，結帳過程不建立金額物件）
+                totalCents = Math.addExact(totalCents, orderItem.getSubtotalCents());
 
                 // 減少庫存
                 productService.reduceStock(productId, quantity);
             } else {
-                throw new RuntimeException("商品不存在：ID = " + productId);
+                throw new ProductNotFoundException(productId);
             }
         }
 
         if (order.getOrderItems().isEmpty()) {
-            throw new RuntimeException("訂單中沒有有效商品");
+            throw new DomainException(ErrorCode.EMPTY_ORDER);
         }
 
-        order.setTotalAmount(totalAmount);
-        return orderRepository.save(order);
+        order.setTotalAmount(Money.ofCents(totalCents));
+        Order savedOrder = orderRepository.save(order);
+        evictCustomerOrders(savedOrder);
+        eventPublisher.publishEvent(OrderEvent.created(savedOrder));
+        return savedOrder;
     }
 
     /**
@@ -141,10 +180,16 @@ public class OrderService {
         Optional<Order> optionalOrder = orderRepository.findById(orderId);
         if (optionalOrder.isPresent()) {
             Order order = optionalOrder.get();
+            Order.OrderStatus previousStatus = order.getStatus();
             order.setStatus(status);
-            return orderRepository.save(order);
+            evictCustomerOrders(order);
+            Order savedOrder = orderRepository.save(order);
+            if (previousStatus != status) {
+                eventPublisher.publishEvent(OrderEvent.statusChanged(savedOrder, previousStatus));
+            }
+            return savedOrder;
         }
-        throw new RuntimeException("訂單不存在：ID = " + orderId);
+        throw new OrderNotFoundException(orderId);
     }
 
     /**
@@ -161,10 +206,10 @@ public class OrderService {
 
             // 檢查訂單狀態是否可以取消
             if (order.getStatus() == Order.OrderStatus.DELIVERED) {
-                throw new RuntimeException("已送達的訂單無法取消");
+                throw new OrderStateException(ErrorCode.ORDER_ALREADY_DELIVERED);
             }
             if (order.getStatus() == Order.OrderStatus.CANCELLED) {
-                throw new RuntimeException("訂單已經是取消狀態");
+                throw new OrderStateException(ErrorCode.ORDER_ALREADY_CANCELLED);
             }
 
             // 恢復庫存
@@ -177,38 +222,144 @@ public class OrderService {
                 }
             }
 
+            Order.OrderStatus previousStatus = order.getStatus();
             order.setStatus(Order.OrderStatus.CANCELLED);
-            return orderRepository.save(order);
+            evictCustomerOrders(order);
+            Order savedOrder = orderRepository.save(order);
+            eventPublisher.publishEvent(OrderEvent.statusChanged(savedOrder, previousStatus));
+            return savedOrder;
         }
-        throw new RuntimeException("訂單不存在：ID = " + orderId);
+        throw new OrderNotFoundException(orderId);
     }
 
     /**
      * 依客戶訂單編號或電話查詢訂單
      */
+    @Transactional(readOnly = true)
     public List<Order> findCustomerOrders(String orderId, String customerPhone) {
         if ((orderId == null || orderId.trim().isEmpty()) &&
                 (customerPhone == null || customerPhone.trim().isEmpty())) {
             throw new IllegalArgumentException("請提供訂單編號或電話號碼");
         }
 
-        String id = orderId != null ? orderId.trim() : "";
-        String phone = customerPhone != null ? customerPhone.trim() : "";
+        // 訂單編號走主鍵查詢、電話走正規化電話索引，再合併結果
+        Map<Long, Order> merged = new LinkedHashMap<>();
+        for (Order order : findOrdersByPhone(customerPhone)) {
+            merged.put(order.getId(), order);
+        }
+        Long id = parseOrderId(orderId);
+        if (id != null && !merged.containsKey(id)) {
+            findOrderById(id).ifPresent(order -> merged.put(order.getId(), order));
+        }
+
+        List<Order> orders = new ArrayList<>(merged.values());
+        orders.sort(Comparator.comparing(Order::getOrderDate, Comparator.nullsLast(Comparator.reverseOrder())));
+        return orders;
+    }
+
+    /**
+     * 依電話查詢訂單，優先使用客戶訂單快取
+     */
+    private List<Order> findOrdersByPhone(String customerPhone) {
+        String phone = Order.normalizePhone(customerPhone);
+        if (phone == null || phone.isEmpty()) {
+            return List.of();
+        }
+
+        // 剛寫入過的用戶端直接讀主庫，不使用可能由複本載入的快取
+        List<Order> cached = ReadYourWrites.isPinnedToPrimary() ? null : customerOrderCache.get(phone);
+        if (cached != null) {
+            return cached;
+        }
+
+        // 熱資料表與封存表都要查：有近期訂單的客戶同樣需要看到已封存的歷史訂單
+        List<Order> orders = new ArrayList<>(orderRepository.findByCustomerPhoneNormalizedOrderByOrderDateDesc(phone));
+        orders.addAll(orderArchiveService.findArchivedOrdersByPhone(phone));
+        orders.sort(Comparator.comparing(Order::getOrderDate, Comparator.nullsLast(Comparator.reverseOrder())));
+        // 先載入訂單項目，快取中的物件離開交易後仍可序列化
+        orders.forEach(order -> order.getOrderItems().size());
+        customerOrderCache.put(phone, orders);
+        return orders;
+    }
 
-        return orderRepository.findCustomerOrders(id, phone);
+    private Long parseOrderId(String orderId) {
+        if (orderId == null || orderId.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(orderId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 清除客戶訂單快取，交易提交後再清除一次以免讀到未提交前的舊資料
+     */
+    private void evictCustomerOrders(Order order) {
+        String phone = order.getCustomerPhoneNormalized();
+        customerOrderCache.evict(phone);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    customerOrderCache.evict(phone);
+                }
+            });
+        }
     }
 
     /**
      * 依條件查詢訂單（後台管理用）
      */
+    @Transactional(readOnly = true)
     public List<Order> findOrdersByConditions(String customerName, String customerEmail,
                                               String customerPhone, Order.OrderStatus status) {
         return orderRepository.findByConditions(customerName, customerEmail, customerPhone, status);
     }
 
+    /**
+     * 依條件分頁查詢訂單（後台管理用）
+     * @param cursor 上一頁回傳的游標，第一頁傳 null
+     * @param size 每頁筆數
+     */
+    @Transactional(readOnly = true)
+    public OrderPage findOrdersPage(String customerName, String customerEmail, String customerPhone,
+                                    Order.OrderStatus status, String cursor, Integer size) {
+        int pageSize = (size == null || size <= 0) ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+
+        LocalDateTime cursorDate = null;
+        Long cursorId = null;
+        if (cursor != null && !cursor.trim().isEmpty()) {
+            String value = cursor.trim();
+            int separator = value.lastIndexOf('_');
+            try {
+                cursorDate = LocalDateTime.parse(value.substring(0, separator));
+                cursorId = Long.valueOf(value.substring(separator + 1));
+            } catch (IndexOutOfBoundsException | DateTimeParseException | NumberFormatException e) {
+                throw new IllegalArgumentException("無效的分頁游標：" + cursor);
+            }
+        }
+
+        // 多取一筆判斷是否還有下一頁
+        List<Order> orders = new ArrayList<>(orderRepository.findPageByConditions(customerName, customerEmail,
+                customerPhone, status, cursorDate, cursorId, Limit.of(pageSize + 1)));
+        String nextCursor = null;
+        if (orders.size() > pageSize) {
+            orders = orders.subList(0, pageSize);
+            Order last = orders.get(pageSize - 1);
+            nextCursor = last.getOrderDate() + "_" + last.getId();
+        }
+
+        long total = orderRepository.countByConditionsCapped(customerName, customerEmail, customerPhone,
+                status != null ? status.name() : null, COUNT_CAP);
+        return new OrderPage(orders, nextCursor, total, total >= COUNT_CAP);
+    }
+
     /**
      * 查詢指定日期範圍的訂單
      */
+    @Transactional(readOnly = true)
     public List<Order> findOrdersByDateRange(LocalDate startDate, LocalDate endDate) {
         if (startDate == null || endDate == null) {
             throw new IllegalArgumentException("開始日期和結束日期不能為空");
@@ -223,20 +374,25 @@ public class OrderService {
     /**
      * 查詢今日訂單
      */
+    @Transactional(readOnly = true)
     public List<Order> findTodayOrders() {
-        return orderRepository.findTodayOrders();
+        LocalDate today = LocalDate.now();
+        return findOrdersByDateRange(today, today);
     }
 
     /**
      * 查詢本月訂單
      */
+    @Transactional(readOnly = true)
     public List<Order> findThisMonthOrders() {
-        return orderRepository.findThisMonthOrders();
+        LocalDate today = LocalDate.now();
+        return findOrdersByDateRange(today.withDayOfMonth(1), today);
     }
 
     /**
      * 查詢最近的訂單
      */
+    @Transactional(readOnly = true)
     public List<Order> findRecentOrders(int limit) {
         if (limit <= 0) {
             limit = 10; // 預設10筆
@@ -247,29 +403,28 @@ public class OrderService {
     /**
      * 統計各狀態的訂單數量
      */
+    @Transactional(readOnly = true)
     public List<Object[]> getOrderStatusStatistics() {
         return orderRepository.countByStatus();
     }
 
     /**
-     * 計算指定日期範圍的總銷售額（排除取消訂單）
+     * 計算指定日期範圍的總銷售額（排除取消訂單，由每日銷售彙總加總）
      */
-    public BigDecimal calculateTotalSales(LocalDate startDate, LocalDate endDate) {
+    @Transactional(readOnly = true)
+    public Money calculateTotalSales(LocalDate startDate, LocalDate endDate) {
         if (startDate == null || endDate == null) {
-            return BigDecimal.ZERO;
+            return Money.ZERO;
         }
 
-        LocalDateTime startDateTime = startDate.atStartOfDay();
-        LocalDateTime endDateTime = endDate.atTime(LocalTime.MAX);
-
-        BigDecimal total = orderRepository.sumTotalAmountByDateRangeExcludeCancelled(startDateTime, endDateTime);
-        return total != null ? total : BigDecimal.ZERO;
+        return dailySalesService.sumSales(startDate, endDate);
     }
 
     /**
      * 計算今日銷售額
      */
-    public BigDecimal calculateTodaySales() {
+    @Transactional(readOnly = true)
+    public Money calculateTodaySales() {
         LocalDate today = LocalDate.now();
         return calculateTotalSales(today, today);
     }
@@ -277,23 +432,22 @@ public class OrderService {
     /**
      * 計算本月銷售額
      */
-    public BigDecimal calculateThisMonthSales() {
+    @Transactional(readOnly = true)
+    public Money calculateThisMonthSales() {
         LocalDate startOfMonth = LocalDate.now().withDayOfMonth(1);
         LocalDate endOfMonth = LocalDate.now();
         return calculateTotalSales(startOfMonth, endOfMonth);
     }
 
     /**
-     * 統計指定日期範圍各狀態訂單的金額
+     * 統計指定日期範圍各狀態訂單的金額（由每日銷售彙總加總）
      */
-    public List<Object[]> getSalesStatisticsByStatus(LocalDate startDate, LocalDate endDate) {
+    @Transactional(readOnly = true)
+    public List<StatusSales> getSalesStatisticsByStatus(LocalDate startDate, LocalDate endDate) {
         if (startDate == null || endDate == null) {
             return List.of();
         }
 
-        LocalDateTime startDateTime = startDate.atStartOfDay();
-        LocalDateTime endDateTime = endDate.atTime(LocalTime.MAX);
-
-        return orderRepository.sumAmountByStatusAndDateRange(startDateTime, endDateTime);
+        return dailySalesService.sumSalesByStatus(startDate, endDate);
     }
 }
\ No newline at end of file
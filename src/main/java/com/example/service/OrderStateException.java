@@ -0,0 +1,11 @@
+package com.example.service;
+
+/**
+ * 訂單目前的狀態不允許此操作（已取消、已送達）
+ */
+public class OrderStateException extends DomainException {
+
+    public OrderStateException(ErrorCode errorCode) {
+        super(errorCode);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.service;
+
+import com.example.entity.Money;
+import com.example.entity.Order;
+import com.example.entity.OrderItem;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 訂單回應資料（API 與儀表板輸出，不直接序列化實體）
+ *
+ * @param id 訂單ID
+ * @param customerName 收件人姓名
+ * @param customerEmail Email
+ * @param customerPhone 聯絡電話
+ * @param customerAddress 收件地址
+ * @param totalAmount 總金額
+ * @param status 訂單狀態
+ * @param orderDate 下單時間
+ * @param notes 訂單備註
+ * @param orderItems 訂單明細
+ */
+public record OrderView(Long id, String customerName, String customerEmail, String customerPhone,
+                        String customerAddress, Money totalAmount, Order.OrderStatus status,
+                        LocalDateTime orderDate, String notes, List<Item> orderItems) {
+
+    public static OrderView of(Order order) {
+        List<Item> items = new ArrayList<>(order.getOrderItems().size());
+        for (OrderItem item : order.getOrderItems()) {
+            items.add(Item.of(item));
+        }
+        return new OrderView(order.getId(), order.getCustomerName(), order.getCustomerEmail(),
+                order.getCustomerPhone(), order.getCustomerAddress(), order.getTotalAmount(), order.getStatus(),
+                order.getOrderDate(), order.getNotes(), items);
+    }
+
+    /**
+     * 序列化時才逐筆轉換，不另外建立整份回應清單
+     */
+    public static List<OrderView> listOf(List<Order> orders) {
+        return new MappedList<>(orders, OrderView::of);
+    }
+
+    /**
+     * @param id 明細ID
+     * @param productId 商品ID
+     * @param productName 下單時的商品名稱
+     * @param quantity 數量
+     * @param unitPrice 下單時的單價
+     * @param subtotal 小計
+     */
+    public record Item(Long id, Long productId, String productName, Integer quantity, Money unitPrice,
+                       Money subtotal) {
+
+        static Item of(OrderItem item) {
+            return new Item(item.getId(), item.getProduct() != null ? item.getProduct().getId() : null,
+                    item.getProductName(), item.getQuantity(), item.getUnitPrice(), item.getSubtotal());
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.service;
+
+/**
+ * 商品已下架，無法下訂
+ */
+public class ProductInactiveException extends DomainException {
+
+    public ProductInactiveException(String productName) {
+        super(ErrorCode.PRODUCT_INACTIVE, "商品已下架：" + productName);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.service;
+
+/**
+ * 商品不存在
+ */
+public class ProductNotFoundException extends DomainException {
+
+    private final Long productId;
+
+    public ProductNotFoundException(Long productId) {
+        super(ErrorCode.PRODUCT_NOT_FOUND, "商品不存在：ID = " + productId);
+        this.productId = productId;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.service;
+
+import com.example.entity.Money;
+
+/**
+ * 熱銷商品排行項目
+ *
+ * @param productId 商品ID
+ * @param productName 商品名稱
+ * @param category 商品分類
+ * @param quantity 銷售數量
+ * @param revenue 銷售額
+ */
+public record ProductSalesRank(Long productId, String productName, String category,
+                               long quantity, Money revenue) {
+}
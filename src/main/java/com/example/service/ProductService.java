@@ -1,13 +1,31 @@
 package com.example.service;
 
 import com.example.entity.Product;
+import com.example.event.ProductEvent;
 import com.example.repository.ProductRepository;
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * 商品服務類別
@@ -16,12 +34,24 @@ import java.util.Optional;
 @Transactional
 public class ProductService {
 
+    private static final String STOCK_QUERY_SPACE = "products_stock";
+
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     /**
      * 查詢所有商品（後台用）
      */
+    @Transactional(readOnly = true)
     public List<Product> findAllProducts() {
         return productRepository.findAll();
     }
@@ -29,6 +59,7 @@ public class ProductService {
     /**
      * 查詢所有上架商品（前台用）
      */
+    @Transactional(readOnly = true)
     public List<Product> findActiveProducts() {
         return productRepository.findByIsActiveTrueOrderByCreatedAtDesc();
     }
@@ -36,6 +67,7 @@ public class ProductService {
     /**
      * 依ID查詢商品
      */
+    @Transactional(readOnly = true)
     public Optional<Product> findProductById(Long id) {
         if (id == null) {
             return Optional.empty();
@@ -59,7 +91,29 @@ public class ProductService {
             product.setStockQuantity(0);
         }
 
-        return productRepository.save(product);
+        ProductEvent.Type type = product.getId() == null ? ProductEvent.Type.CREATED : ProductEvent.Type.UPDATED;
+        Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductEvent(type, savedProduct.getId()));
+        return savedProduct;
+    }
+
+    /**
+     * 批次儲存新商品（單一交易）
+     */
+    public List<Product> saveProducts(List<Product> products) {
+        for (Product product : products) {
+            if (product.getIsActive() == null) {
+                product.setIsActive(true);
+            }
+            if (product.getStockQuantity() == null) {
+                product.setStockQuantity(0);
+            }
+        }
+        List<Product> savedProducts = productRepository.saveAll(products);
+        for (Product product : savedProducts) {
+            eventPublisher.publishEvent(new ProductEvent(ProductEvent.Type.CREATED, product.getId()));
+        }
+        return savedProducts;
     }
 
     /**
@@ -70,11 +124,12 @@ public class ProductService {
             throw new IllegalArgumentException("商品ID不能為空");
         }
 
-        Optional<Product> product = productRepository.findById(id);
+        Optional<Product> product = findForUpdate(id);
         if (product.isPresent()) {
             productRepository.deleteById(id);
+            eventPublisher.publishEvent(new ProductEvent(ProductEvent.Type.DELETED, id));
         } else {
-            throw new RuntimeException("商品不存在：ID = " + id);
+            throw new ProductNotFoundException(id);
         }
     }
 
@@ -86,18 +141,20 @@ public class ProductService {
             throw new IllegalArgumentException("商品ID不能為空");
         }
 
-        Optional<Product> optionalProduct = productRepository.findById(id);
+        Optional<Product> optionalProduct = findForUpdate(id);
         if (optionalProduct.isPresent()) {
             Product product = optionalProduct.get();
             product.setIsActive(!product.getIsActive());
+            eventPublisher.publishEvent(new ProductEvent(ProductEvent.Type.UPDATED, id));
             return productRepository.save(product);
         }
-        throw new RuntimeException("商品不存在：ID = " + id);
+        throw new ProductNotFoundException(id);
     }
 
     /**
      * 依分類查詢上架商品
      */
+    @Transactional(readOnly = true)
     public List<Product> findActiveProductsByCategory(String category) {
         if (category == null || category.trim().isEmpty()) {
             return findActiveProducts();
@@ -108,6 +165,7 @@ public class ProductService {
     /**
      * 依名稱模糊查詢上架商品
      */
+    @Transactional(readOnly = true)
     public List<Product> findActiveProductsByName(String name) {
         if (name == null || name.trim().isEmpty()) {
             return findActiveProducts();
@@ -118,6 +176,7 @@ public class ProductService {
     /**
      * 複合搜尋上架商品
      */
+    @Transactional(readOnly = true)
     public List<Product> searchActiveProducts(String category, String name) {
         // 處理空字串和null
         String searchCategory = (category != null && !category.trim().isEmpty()) ? category.trim() : null;
@@ -137,6 +196,7 @@ public class ProductService {
     /**
      * 查詢所有商品分類
      */
+    @Transactional(readOnly = true)
     public List<String> findAllCategories() {
         return productRepository.findDistinctCategoriesByIsActiveTrue();
     }
@@ -144,6 +204,7 @@ public class ProductService {
     /**
      * 後台複合查詢商品
      */
+    @Transactional(readOnly = true)
     public List<Product> findProductsByConditions(String category, String name, Boolean isActive) {
         return productRepository.findByConditions(category, name, isActive);
     }
@@ -159,19 +220,23 @@ public class ProductService {
             throw new IllegalArgumentException("庫存數量必須大於等於0");
         }
 
-        Optional<Product> optionalProduct = productRepository.findById(productId);
+        Optional<Product> optionalProduct = findForUpdate(productId);
         if (optionalProduct.isPresent()) {
             Product product = optionalProduct.get();
             product.setStockQuantity(quantity);
+            eventPublisher.publishEvent(new ProductEvent(ProductEvent.Type.STOCK_CHANGED, productId));
             return productRepository.save(product);
         }
-        throw new RuntimeException("商品不存在：ID = " + productId);
+        throw new ProductNotFoundException(productId);
     }
 
     /**
      * 減少商品庫存（下訂時使用）
+     * 以單一條件式 UPDATE 扣減（庫存足夠才扣），同時結帳的請求不會讀到相同庫存後各自寫回而超賣；
+     * 更新筆數為 0 時才讀取目前庫存，判斷是庫存不足還是商品不存在
+     * 交易中已載入的商品實體不會跟著更新
      */
-    public Product reduceStock(Long productId, Integer quantity) {
+    public void reduceStock(Long productId, Integer quantity) {
         if (productId == null) {
             throw new IllegalArgumentException("商品ID不能為空");
         }
@@ -179,25 +244,24 @@ public class ProductService {
             throw new IllegalArgumentException("減少的庫存數量必須大於0");
         }
 
-        Optional<Product> optionalProduct = productRepository.findById(productId);
-        if (optionalProduct.isPresent()) {
-            Product product = optionalProduct.get();
-            int currentStock = product.getStockQuantity();
-
-            if (currentStock >= quantity) {
-                product.setStockQuantity(currentStock - quantity);
-                return productRepository.save(product);
-            } else {
-                throw new RuntimeException("庫存不足：商品「" + product.getName() + "」目前庫存 " + currentStock + "，需要 " + quantity);
+        int updated = updateStock("stock_quantity - :quantity", "AND stock_quantity >= :quantity", productId, quantity);
+        if (updated == 0) {
+            List<?> currentStock = entityManager.createNativeQuery("SELECT stock_quantity FROM products WHERE id = :id")
+                    .setHint(HibernateHints.HINT_NATIVE_SPACES, "products")
+                    .setParameter("id", productId)
+                    .getResultList();
+            if (currentStock.isEmpty()) {
+                throw new ProductNotFoundException(productId);
             }
+            throw new InsufficientStockException(productId, ((Number) currentStock.get(0)).intValue());
         }
-        throw new RuntimeException("商品不存在：ID = " + productId);
+        stockChanged(productId);
     }
 
     /**
-     * 增加商品庫存（取消訂單時恢復庫存）
+     * 增加商品庫存（取消訂單時恢復庫存），與 reduceStock 相同以單一 UPDATE 累加
      */
-    public Product increaseStock(Long productId, Integer quantity) {
+    public void increaseStock(Long productId, Integer quantity) {
         if (productId == null) {
             throw new IllegalArgumentException("商品ID不能為空");
         }
@@ -205,19 +269,71 @@ public class ProductService {
             throw new IllegalArgumentException("增加的庫存數量必須大於0");
         }
 
-        Optional<Product> optionalProduct = productRepository.findById(productId);
-        if (optionalProduct.isPresent()) {
-            Product product = optionalProduct.get();
-            int currentStock = product.getStockQuantity();
-            product.setStockQuantity(currentStock + quantity);
-            return productRepository.save(product);
+        if (updateStock("stock_quantity + :quantity", "", productId, quantity) == 0) {
+            throw new ProductNotFoundException(productId);
         }
-        throw new RuntimeException("商品不存在：ID = " + productId);
+        stockChanged(productId);
+    }
+
+    /**
+     * 直接以 SQL 更新庫存
+     * 查詢空間只宣告 STOCK_QUERY_SPACE：宣告 products 會讓 Hibernate 清除整個 product 快取區域，
+     * 改由 stockChanged 於提交後只逐出這一筆商品（分類查詢快取與庫存無關，不受影響）
+     */
+    private int updateStock(String newStock, String condition, Long productId, int quantity) {
+        return entityManager.createNativeQuery("UPDATE products SET stock_quantity = " + newStock
+                        + ", updated_at = :updatedAt WHERE id = :id " + condition)
+                .setHint(HibernateHints.HINT_NATIVE_SPACES, STOCK_QUERY_SPACE)
+                .setParameter("updatedAt", LocalDateTime.now())
+                .setParameter("id", productId)
+                .setParameter("quantity", quantity)
+                .executeUpdate();
+    }
+
+    /**
+     * 庫存已以 SQL 更新：通知其他節點，並於提交後逐出本機二級快取中的這筆商品
+     */
+    private void stockChanged(Long productId) {
+        eventPublisher.publishEvent(new ProductEvent(ProductEvent.Type.STOCK_CHANGED, productId));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                entityManagerFactory.getCache().evict(Product.class, productId);
+            }
+        });
+    }
+
+    /**
+     * 讀取要修改的商品：略過二級快取直接查詢資料庫，
+     * 其他節點剛修改而本節點快取尚未同步時，也不會以快取中的舊值（例如舊庫存）覆寫
+     * 已在持久化內容中的實體不會重新讀取，須在交易中第一次載入該商品時使用
+     */
+    private Optional<Product> findForUpdate(Long id) {
+        return Optional.ofNullable(entityManager.find(Product.class, id,
+                Map.of(SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, CacheRetrieveMode.BYPASS)));
+    }
+
+    /**
+     * 依商品ID批次讀取要修改的商品（結帳檢查並扣減庫存用），以一次 IN 查詢略過二級快取讀取資料庫，
+     * 讀到的資料同時寫回本機快取；與 findForUpdate 相同，須在交易中第一次載入這些商品時使用
+     */
+    public Map<Long, Product> findProductsForUpdate(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Map.of();
+        }
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(Product.class)
+                .with(CacheMode.PUT)
+                .multiLoad(List.copyOf(ids))
+                .stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
     }
 
     /**
      * 查詢庫存不足的商品
      */
+    @Transactional(readOnly = true)
     public List<Product> findLowStockProducts(Integer threshold) {
         if (threshold == null || threshold < 0) {
             threshold = 5; // 預設閾值
@@ -225,9 +341,30 @@ public class ProductService {
         return productRepository.findByStockQuantityLessThanEqualAndIsActiveTrueOrderByStockQuantityAsc(threshold);
     }
 
+    /**
+     * 依商品ID批次查詢商品（含下架商品），以一次查詢取代逐筆 findById（唯讀用途，例如封存訂單的商品）
+     * 先由二級快取取得，只有未快取的商品才以 IN 查詢載入（findAllById 的 JPQL 查詢不會使用二級快取）；
+     * multiLoad 未指定快取模式時不會查二級快取，因此明確指定 CacheMode.NORMAL
+     * 要修改的商品（結帳扣庫存）改用 findProductsForUpdate，不可使用快取中可能過期的資料
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Product> findProductsByIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Map.of();
+        }
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(Product.class)
+                .with(CacheMode.NORMAL)
+                .multiLoad(List.copyOf(ids))
+                .stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+    }
+
     /**
      * 依商品ID列表查詢上架商品
      */
+    @Transactional(readOnly = true)
     public List<Product> findActiveProductsByIds(List<Long> ids) {
         if (ids == null || ids.isEmpty()) {
             return List.of();
@@ -238,10 +375,17 @@ public class ProductService {
     /**
      * 統計商品數量
      */
+    @Transactional(readOnly = true)
     public long countActiveProducts() {
         return productRepository.countByIsActiveTrue();
     }
 
+    @Transactional(readOnly = true)
+    public long countAllProducts() {
+        return productRepository.count();
+    }
+
+    @Transactional(readOnly = true)
     public long countInactiveProducts() {
         return productRepository.countByIsActiveFalse();
     }
@@ -249,6 +393,7 @@ public class ProductService {
     /**
      * 統計各分類的商品數量
      */
+    @Transactional(readOnly = true)
     public List<Object[]> countProductsByCategory() {
         return productRepository.countActiveProductsByCategory();
     }
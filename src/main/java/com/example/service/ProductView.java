@@ -0,0 +1,38 @@
+package com.example.service;
+
+import com.example.entity.Money;
+import com.example.entity.Product;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 商品回應資料（API 與儀表板輸出，不直接序列化實體）
+ *
+ * @param id 商品ID
+ * @param name 商品名稱
+ * @param category 商品分類
+ * @param price 價格
+ * @param description 商品描述
+ * @param isActive 是否上架
+ * @param stockQuantity 庫存數量
+ * @param createdAt 建立時間
+ * @param updatedAt 更新時間
+ */
+public record ProductView(Long id, String name, String category, Money price, String description,
+                          Boolean isActive, Integer stockQuantity, LocalDateTime createdAt,
+                          LocalDateTime updatedAt) {
+
+    public static ProductView of(Product product) {
+        return new ProductView(product.getId(), product.getName(), product.getCategory(), product.getPrice(),
+                product.getDescription(), product.getIsActive(), product.getStockQuantity(),
+                product.getCreatedAt(), product.getUpdatedAt());
+    }
+
+    /**
+     * 序列化時才逐筆轉換，不另外建立整份回應清單
+     */
+    public static List<ProductView> listOf(List<Product> products) {
+        return new MappedList<>(products, ProductView::of);
+    }
+}
@@ -0,0 +1,242 @@
+package com.example.service;
+
+import com.example.entity.Money;
+import com.example.entity.Order;
+import com.example.event.OrderEvent;
+import com.example.repository.ArchivedOrderRepository;
+import com.example.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * 銷售分析服務
+ * 依日期保存各商品與各分類的銷售數量與營收（以原生 long 鍵雜湊表儲存），
+ * 訂單建立或取消後遞增更新，可對任意日期區間查詢熱銷商品排行與分類營收佔比
+ */
+@Service
+public class SalesAnalyticsService {
+
+    /**
+     * 排行依據
+     */
+    public enum SortBy {
+        QUANTITY,
+        REVENUE;
+
+        public static SortBy of(String value) {
+            if (value == null || value.trim().isEmpty()) {
+                return QUANTITY;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("不支援的排序依據：" + value);
+            }
+        }
+    }
+
+    /**
+     * 單日統計：商品ID → 銷售量/營收、分類代碼 → 銷售量/營收
+     */
+    private static final class DayStats {
+        final LongSalesMap products = new LongSalesMap();
+        final LongSalesMap categories = new LongSalesMap();
+    }
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ArchivedOrderRepository archivedOrderRepository;
+
+    @Value("${app.analytics.retention-days:365}")
+    private int retentionDays;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 以下欄位皆在 lock 保護下存取
+    private final TreeMap<Long, DayStats> days = new TreeMap<>();
+    private final Map<String, Integer> categoryIds = new HashMap<>();
+    private final List<String> categoryNames = new ArrayList<>();
+    private final Map<Long, String> productNames = new HashMap<>();
+    private final Map<Long, Integer> productCategories = new HashMap<>();
+
+    /**
+     * 啟動時由保留期間內的未取消訂單（含封存訂單）載入
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void seed() {
+        LocalDateTime since = LocalDate.now().minusDays(retentionDays - 1).atStartOfDay();
+        lock.writeLock().lock();
+        try {
+            days.clear();
+            try (Stream<Object[]> rows = orderRepository.streamSoldItemsSince(since)) {
+                rows.forEach(this::recordRow);
+            }
+            try (Stream<Object[]> rows = archivedOrderRepository.streamSoldItemsSince(since)) {
+                rows.forEach(this::recordRow);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 訂單建立或進出取消狀態後更新統計
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        int sign = salesWeight(event.status()) - salesWeight(event.previousStatus());
+        if (sign == 0 || event.items().isEmpty()) {
+            return;
+        }
+        LocalDate orderDay = event.orderDate() != null ? event.orderDate().toLocalDate() : LocalDate.now();
+
+        lock.writeLock().lock();
+        try {
+            for (OrderEvent.Item item : event.items()) {
+                record(orderDay, item.productId(), item.productName(), item.category(),
+                        item.quantity(), item.unitPrice(), sign);
+            }
+            prune();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 查詢日期區間內的熱銷商品前 limit 名（以固定大小的最小堆積篩選）
+     */
+    public List<ProductSalesRank> findTopProducts(LocalDate startDate, LocalDate endDate, int limit, SortBy sortBy) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        Comparator<long[]> comparator = sortBy == SortBy.REVENUE
+                ? Comparator.<long[]>comparingLong(entry -> entry[2]).thenComparingLong(entry -> entry[1])
+                : Comparator.<long[]>comparingLong(entry -> entry[1]).thenComparingLong(entry -> entry[2]);
+        PriorityQueue<long[]> heap = new PriorityQueue<>(limit + 1, comparator);
+
+        lock.readLock().lock();
+        try {
+            LongSalesMap totals = merge(startDate, endDate, false);
+            totals.forEach((productId, quantity, cents) -> {
+                if (quantity <= 0 && cents <= 0) {
+                    return;
+                }
+                long[] entry = {productId, quantity, cents};
+                if (heap.size() < limit) {
+                    heap.add(entry);
+                } else if (comparator.compare(entry, heap.peek()) > 0) {
+                    heap.poll();
+                    heap.add(entry);
+                }
+            });
+
+            List<ProductSalesRank> ranks = new ArrayList<>(heap.size());
+            while (!heap.isEmpty()) {
+                long[] entry = heap.poll();
+                Integer categoryId = productCategories.get(entry[0]);
+                ranks.add(new ProductSalesRank(entry[0], productNames.get(entry[0]),
+                        categoryId != null ? categoryNames.get(categoryId) : null,
+                        entry[1], Money.ofCents(entry[2])));
+            }
+            // 堆積取出順序為由小到大，反轉為排行順序
+            Collections.reverse(ranks);
+            return ranks;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 查詢日期區間內各分類的營收與佔比，依營收由高到低排序
+     */
+    public List<CategoryRevenue> findCategoryRevenue(LocalDate startDate, LocalDate endDate) {
+        lock.readLock().lock();
+        try {
+            LongSalesMap totals = merge(startDate, endDate, true);
+            long[] grandTotal = new long[1];
+            totals.forEach((categoryId, quantity, cents) -> grandTotal[0] += cents);
+
+            List<CategoryRevenue> result = new ArrayList<>(totals.size());
+            totals.forEach((categoryId, quantity, cents) -> {
+                if (quantity <= 0 && cents <= 0) {
+                    return;
+                }
+                double share = grandTotal[0] > 0 ? (double) cents / grandTotal[0] : 0;
+                result.add(new CategoryRevenue(categoryNames.get((int) categoryId), quantity,
+                        Money.ofCents(cents), share));
+            });
+            result.sort(Comparator.comparing(CategoryRevenue::revenue).reversed());
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 合併日期區間內每日的統計（需持有讀鎖）
+     */
+    private LongSalesMap merge(LocalDate startDate, LocalDate endDate, boolean byCategory) {
+        LongSalesMap totals = new LongSalesMap(byCategory ? 32 : 256);
+        for (DayStats stats : days.subMap(startDate.toEpochDay(), true, endDate.toEpochDay(), true).values()) {
+            totals.addAll(byCategory ? stats.categories : stats.products);
+        }
+        return totals;
+    }
+
+    /**
+     * 記錄一筆商品銷售（需持有寫鎖），sign 為 1 表示售出、-1 表示取消
+     */
+    private void record(LocalDate day, Long productId, String productName, String category,
+                        int quantity, Money unitPrice, int sign) {
+        int categoryId = categoryIds.computeIfAbsent(category != null ? category : "", name -> {
+            categoryNames.add(name);
+            return categoryNames.size() - 1;
+        });
+        productNames.put(productId, productName);
+        productCategories.put(productId, categoryId);
+
+        long cents = Math.multiplyExact(unitPrice.cents(), (long) quantity);
+        DayStats stats = days.computeIfAbsent(day.toEpochDay(), key -> new DayStats());
+        stats.products.add(productId, (long) sign * quantity, sign * cents);
+        stats.categories.add(categoryId, (long) sign * quantity, sign * cents);
+    }
+
+    private void recordRow(Object[] row) {
+        record(((LocalDateTime) row[0]).toLocalDate(), (Long) row[1],
+                (String) row[2], (String) row[3], (Integer) row[4], (Money) row[5], 1);
+    }
+
+    /**
+     * 移除超過保留期間的每日統計（需持有寫鎖）
+     */
+    private void prune() {
+        long oldest = LocalDate.now().minusDays(retentionDays - 1).toEpochDay();
+        days.headMap(oldest, false).clear();
+    }
+
+    private static int salesWeight(Order.OrderStatus status) {
+        return status == null || status == Order.OrderStatus.CANCELLED ? 0 : 1;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.service;
+
+import java.util.Arrays;
+
+/**
+ * 固定大小的銷售時間序列環形緩衝區
+ * 每個槽位以原生陣列保存「時間桶編號、訂單數、銷售額（分）」，
+ * 新的時間桶覆蓋最舊的槽位，讀取時直接填入呼叫端提供的陣列
+ */
+public class SalesRingBuffer {
+
+    private final int capacity;
+    private final long[] buckets;
+    private final long[] orderCounts;
+    private final long[] salesCents;
+    private long latestBucket = Long.MIN_VALUE;
+
+    public SalesRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("緩衝區大小必須大於0");
+        }
+        this.capacity = capacity;
+        this.buckets = new long[capacity];
+        this.orderCounts = new long[capacity];
+        this.salesCents = new long[capacity];
+        Arrays.fill(buckets, Long.MIN_VALUE);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 累加指定時間桶的訂單數與銷售額；早於保留範圍的資料直接忽略
+     */
+    public synchronized void add(long bucket, long orderDelta, long salesCentsDelta) {
+        if (latestBucket != Long.MIN_VALUE && bucket <= latestBucket - capacity) {
+            return;
+        }
+        int index = indexOf(bucket);
+        if (buckets[index] != bucket) {
+            buckets[index] = bucket;
+            orderCounts[index] = 0;
+            salesCents[index] = 0;
+        }
+        orderCounts[index] += orderDelta;
+        salesCents[index] += salesCentsDelta;
+        if (bucket > latestBucket) {
+            latestBucket = bucket;
+        }
+    }
+
+    /**
+     * 讀取 [fromBucket, fromBucket + length) 的資料，沒有資料的時間桶填 0
+     */
+    public synchronized void read(long fromBucket, long[] orderCountsOut, long[] salesCentsOut) {
+        int length = orderCountsOut.length;
+        for (int i = 0; i < length; i++) {
+            long bucket = fromBucket + i;
+            int index = indexOf(bucket);
+            if (buckets[index] == bucket) {
+                orderCountsOut[i] = orderCounts[index];
+                salesCentsOut[i] = salesCents[index];
+            } else {
+                orderCountsOut[i] = 0;
+                salesCentsOut[i] = 0;
+            }
+        }
+    }
+
+    /**
+     * 清空所有資料（重新載入前使用）
+     */
+    public synchronized void clear() {
+        Arrays.fill(buckets, Long.MIN_VALUE);
+        Arrays.fill(orderCounts, 0);
+        Arrays.fill(salesCents, 0);
+        latestBucket = Long.MIN_VALUE;
+    }
+
+    private int indexOf(long bucket) {
+        return (int) Math.floorMod(bucket, (long) capacity);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.service;
+
+import com.example.entity.Money;
+
+import java.time.LocalDateTime;
+
+/**
+ * 銷售時間序列查詢結果
+ *
+ * @param resolution 時間解析度
+ * @param start 第一個時間桶的起始時間
+ * @param stepSeconds 每個時間桶的秒數
+ * @param orders 各時間桶的訂單數
+ * @param sales 各時間桶的銷售額（排除已取消訂單）
+ */
+public record SalesSeries(SalesTimeSeriesService.Resolution resolution, LocalDateTime start, long stepSeconds,
+                          long[] orders, Money[] sales) {
+}
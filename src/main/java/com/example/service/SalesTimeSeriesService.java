@@ -0,0 +1,164 @@
+package com.example.service;
+
+import com.example.entity.DailySales;
+import com.example.entity.Money;
+import com.example.entity.Order;
+import com.example.event.OrderEvent;
+import com.example.repository.DailySalesRepository;
+import com.example.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * 銷售時間序列服務
+ * 以分鐘、小時、日三種解析度的環形緩衝區記錄訂單數與銷售額，
+ * 啟動時由資料庫載入，之後隨訂單事件更新，查詢時完全不存取資料庫
+ */
+@Service
+public class SalesTimeSeriesService {
+
+    /**
+     * 時間解析度與保留範圍
+     */
+    public enum Resolution {
+        MINUTE(60, 7 * 24 * 60),   // 最近 7 天，每分鐘
+        HOUR(3600, 7 * 24),        // 最近 7 天，每小時
+        DAY(86400, 90);            // 最近 90 天，每日
+
+        private final long stepSeconds;
+        private final int capacity;
+
+        Resolution(long stepSeconds, int capacity) {
+            this.stepSeconds = stepSeconds;
+            this.capacity = capacity;
+        }
+
+        public long getStepSeconds() {
+            return stepSeconds;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        long bucketOf(LocalDateTime time) {
+            // 以當地時間切分時間桶，讓小時與日的邊界對齊當地時鐘
+            return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), stepSeconds);
+        }
+
+        LocalDateTime startOf(long bucket) {
+            return LocalDateTime.ofEpochSecond(bucket * stepSeconds, 0, ZoneOffset.UTC);
+        }
+
+        public static Resolution of(String value) {
+            if (value == null || value.trim().isEmpty()) {
+                return HOUR;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("不支援的時間解析度：" + value);
+            }
+        }
+    }
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private DailySalesRepository dailySalesRepository;
+
+    private final Map<Resolution, SalesRingBuffer> buffers = new EnumMap<>(Resolution.class);
+
+    public SalesTimeSeriesService() {
+        for (Resolution resolution : Resolution.values()) {
+            buffers.put(resolution, new SalesRingBuffer(resolution.getCapacity()));
+        }
+    }
+
+    /**
+     * 啟動時載入資料：分鐘與小時由最近 7 天的訂單載入，日由每日銷售彙總載入
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void seed() {
+        buffers.values().forEach(SalesRingBuffer::clear);
+        LocalDateTime now = LocalDateTime.now();
+
+        SalesRingBuffer minutes = buffers.get(Resolution.MINUTE);
+        SalesRingBuffer hours = buffers.get(Resolution.HOUR);
+        LocalDateTime since = Resolution.HOUR.startOf(Resolution.HOUR.bucketOf(now) - Resolution.HOUR.getCapacity() + 1);
+        try (Stream<Object[]> rows = orderRepository.streamSalesSince(since)) {
+            rows.forEach(row -> {
+                LocalDateTime orderDate = (LocalDateTime) row[0];
+                long sales = salesCents((Order.OrderStatus) row[1], (Money) row[2]);
+                minutes.add(Resolution.MINUTE.bucketOf(orderDate), 1, sales);
+                hours.add(Resolution.HOUR.bucketOf(orderDate), 1, sales);
+            });
+        }
+
+        SalesRingBuffer days = buffers.get(Resolution.DAY);
+        LocalDate firstDay = now.toLocalDate().minusDays(Resolution.DAY.getCapacity() - 1);
+        for (DailySales row : dailySalesRepository.findBySalesDateGreaterThanEqual(firstDay)) {
+            days.add(Resolution.DAY.bucketOf(row.getSalesDate().atStartOfDay()), row.getOrderCount(),
+                    salesCents(row.getStatus(), row.getTotalAmount()));
+        }
+    }
+
+    /**
+     * 訂單異動後更新各解析度的時間桶（以下單時間歸桶）
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        LocalDateTime orderDate = event.orderDate() != null ? event.orderDate() : LocalDateTime.now();
+        long orderDelta = event.type() == OrderEvent.Type.CREATED ? 1 : 0;
+        long salesDelta = salesCents(event.status(), event.totalAmount())
+                - salesCents(event.previousStatus(), event.totalAmount());
+        if (orderDelta == 0 && salesDelta == 0) {
+            return;
+        }
+        buffers.forEach((resolution, buffer) -> buffer.add(resolution.bucketOf(orderDate), orderDelta, salesDelta));
+    }
+
+    /**
+     * 查詢最近 points 個時間桶（含目前時間桶）的訂單數與銷售額
+     */
+    public SalesSeries query(Resolution resolution, Integer points) {
+        int length = (points == null || points <= 0) ? resolution.getCapacity()
+                : Math.min(points, resolution.getCapacity());
+        long lastBucket = resolution.bucketOf(LocalDateTime.now());
+        long firstBucket = lastBucket - length + 1;
+
+        long[] orders = new long[length];
+        long[] cents = new long[length];
+        buffers.get(resolution).read(firstBucket, orders, cents);
+
+        Money[] sales = new Money[length];
+        for (int i = 0; i < length; i++) {
+            sales[i] = Money.ofCents(cents[i]);
+        }
+        return new SalesSeries(resolution, resolution.startOf(firstBucket), resolution.getStepSeconds(), orders, sales);
+    }
+
+    /**
+     * 計入銷售額的金額（分），已取消訂單不計
+     */
+    private static long salesCents(Order.OrderStatus status, Money amount) {
+        if (status == null || status == Order.OrderStatus.CANCELLED || amount == null) {
+            return 0;
+        }
+        return amount.cents();
+    }
+}
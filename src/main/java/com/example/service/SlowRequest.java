@@ -0,0 +1,30 @@
+package com.example.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 慢請求記錄
+ *
+ * @param timestamp 請求完成時間
+ * @param method HTTP 方法
+ * @param path 請求路徑（含查詢字串）
+ * @param status 回應狀態碼
+ * @param totalMillis 總耗時
+ * @param dbMillis SQL 執行時間
+ * @param hydrateMillis 處理器內扣除 SQL 的時間（實體建立、對應與商業邏輯）
+ * @param serializeMillis JSON 序列化時間
+ * @param statements 各 SQL 樣式的次數與耗時（依第一次出現的順序）
+ */
+public record SlowRequest(LocalDateTime timestamp, String method, String path, int status,
+                          double totalMillis, double dbMillis, double hydrateMillis, double serializeMillis,
+                          List<Statement> statements) {
+
+    /**
+     * @param sql SQL 樣式
+     * @param count 執行次數
+     * @param totalMillis 累計執行時間
+     */
+    public record Statement(String sql, int count, double totalMillis) {
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 慢請求記錄：保留最近固定筆數超過門檻的 API 請求，新的記錄覆蓋最舊的
+ */
+@Service
+public class SlowRequestLog {
+
+    private final long thresholdNanos;
+    private final SlowRequest[] entries;
+    private long written;
+
+    public SlowRequestLog(@Value("${app.slow-request.threshold-ms:500}") long thresholdMillis,
+                          @Value("${app.slow-request.capacity:100}") int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("慢請求記錄筆數必須大於0");
+        }
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.entries = new SlowRequest[capacity];
+    }
+
+    /**
+     * 請求耗時是否達到記錄門檻
+     */
+    public boolean isSlow(long elapsedNanos) {
+        return elapsedNanos >= thresholdNanos;
+    }
+
+    public synchronized void record(SlowRequest request) {
+        entries[(int) (written++ % entries.length)] = request;
+    }
+
+    /**
+     * 最近的慢請求（由新到舊）
+     */
+    public synchronized List<SlowRequest> findRecent() {
+        int size = (int) Math.min(written, entries.length);
+        List<SlowRequest> recent = new ArrayList<>(size);
+        for (long i = written - 1; i >= written - size; i--) {
+            recent.add(entries[(int) (i % entries.length)]);
+        }
+        return recent;
+    }
+}
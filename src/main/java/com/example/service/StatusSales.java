@@ -0,0 +1,13 @@
+package com.example.service;
+
+import com.example.entity.Money;
+import com.example.entity.Order;
+
+/**
+ * 各狀態訂單金額
+ *
+ * @param status 訂單狀態
+ * @param amount 總金額
+ */
+public record StatusSales(Order.OrderStatus status, Money amount) {
+}
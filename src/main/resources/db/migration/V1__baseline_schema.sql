@@ -0,0 +1,40 @@
+-- V1：初始資料表結構（商品、訂單、訂單明細）
+-- 與 Flyway 命名慣例相容，依版本號順序執行：mysql -u <user> -p <database> < V1__baseline_schema.sql
+
+CREATE TABLE products (
+    id             BIGINT         NOT NULL AUTO_INCREMENT,
+    name           VARCHAR(200)   NOT NULL,
+    category       VARCHAR(100)   NOT NULL,
+    price          DECIMAL(10, 2) NOT NULL,
+    description    TEXT,
+    is_active      BIT            NOT NULL,
+    stock_quantity INTEGER        NOT NULL,
+    created_at     DATETIME(6)    NOT NULL,
+    updated_at     DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE orders (
+    id               BIGINT         NOT NULL AUTO_INCREMENT,
+    customer_name    VARCHAR(100)   NOT NULL,
+    customer_email   VARCHAR(200),
+    customer_phone   VARCHAR(20)    NOT NULL,
+    customer_address TEXT           NOT NULL,
+    total_amount     DECIMAL(10, 2) NOT NULL,
+    status           ENUM ('CANCELLED', 'CONFIRMED', 'DELIVERED', 'PENDING', 'SHIPPED') NOT NULL,
+    order_date       DATETIME(6)    NOT NULL,
+    notes            TEXT,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE order_items (
+    id           BIGINT         NOT NULL AUTO_INCREMENT,
+    order_id     BIGINT         NOT NULL,
+    product_id   BIGINT         NOT NULL,
+    quantity     INTEGER        NOT NULL,
+    unit_price   DECIMAL(10, 2) NOT NULL,
+    product_name VARCHAR(200)   NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders (id),
+    CONSTRAINT fk_order_items_product FOREIGN KEY (product_id) REFERENCES products (id)
+) ENGINE = InnoDB;
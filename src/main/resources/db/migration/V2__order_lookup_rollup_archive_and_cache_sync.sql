@@ -0,0 +1,56 @@
+-- V2：訂單查詢與分頁索引、每日銷售彙總、冷資料封存表、商品快取同步的變更紀錄表
+-- 既有訂單的 customer_phone_normalized 由 OrderPhoneBackfill 於啟動就緒時分批回填
+
+ALTER TABLE orders ADD COLUMN customer_phone_normalized VARCHAR(20);
+CREATE INDEX idx_orders_customer_phone_normalized ON orders (customer_phone_normalized);
+CREATE INDEX idx_orders_order_date_id ON orders (order_date, id);
+CREATE INDEX idx_orders_status_order_date ON orders (status, order_date);
+
+CREATE TABLE daily_sales (
+    id           BIGINT         NOT NULL AUTO_INCREMENT,
+    sales_date   DATE           NOT NULL,
+    status       ENUM ('CANCELLED', 'CONFIRMED', 'DELIVERED', 'PENDING', 'SHIPPED') NOT NULL,
+    order_count  BIGINT         NOT NULL,
+    total_amount DECIMAL(14, 2) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_daily_sales_date_status UNIQUE (sales_date, status)
+) ENGINE = InnoDB;
+
+-- 封存表沿用原訂單 ID，不自動遞增
+CREATE TABLE orders_archive (
+    id                        BIGINT         NOT NULL,
+    customer_name             VARCHAR(100)   NOT NULL,
+    customer_email            VARCHAR(200),
+    customer_phone            VARCHAR(20)    NOT NULL,
+    customer_phone_normalized VARCHAR(20),
+    customer_address          TEXT           NOT NULL,
+    total_amount              DECIMAL(10, 2) NOT NULL,
+    status                    ENUM ('CANCELLED', 'CONFIRMED', 'DELIVERED', 'PENDING', 'SHIPPED') NOT NULL,
+    order_date                DATETIME(6)    NOT NULL,
+    notes                     TEXT,
+    archived_at               DATETIME(6)    NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+CREATE INDEX idx_orders_archive_customer_phone_normalized ON orders_archive (customer_phone_normalized);
+CREATE INDEX idx_orders_archive_order_date ON orders_archive (order_date);
+
+CREATE TABLE order_items_archive (
+    id           BIGINT         NOT NULL,
+    order_id     BIGINT         NOT NULL,
+    product_id   BIGINT         NOT NULL,
+    quantity     INTEGER        NOT NULL,
+    unit_price   DECIMAL(10, 2) NOT NULL,
+    product_name VARCHAR(200)   NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_order_items_archive_order FOREIGN KEY (order_id) REFERENCES orders_archive (id)
+) ENGINE = InnoDB;
+CREATE INDEX idx_order_items_archive_order_id ON order_items_archive (order_id);
+
+CREATE TABLE product_changes (
+    id         BIGINT      NOT NULL AUTO_INCREMENT,
+    product_id BIGINT      NOT NULL,
+    node_id    VARCHAR(64) NOT NULL,
+    changed_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+CREATE INDEX idx_product_changes_changed_at ON product_changes (changed_at);
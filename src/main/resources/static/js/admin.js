@@ -18,6 +18,11 @@ const app = createApp({
 
             // 統計資料
             stats: {},
+            dashboardStream: null,
+
+            // 銷售趨勢
+            salesSeries: null,
+            seriesResolution: 'hour',
 
             // 商品管理
             products: [],
@@ -39,6 +44,10 @@ const app = createApp({
 
             // 訂單管理
             orders: [],
+            ordersNextCursor: null,
+            ordersTotal: 0,
+            ordersTotalApproximate: false,
+            loadingMoreOrders: false,
             orderFilters: {
                 status: '',
                 customerName: '',
@@ -51,8 +60,13 @@ const app = createApp({
     },
 
     async mounted() {
-        // 頁面載入時初始化
-        await this.loadDashboardStats();
+        // 頁面載入時初始化：優先使用即時推播，不支援時改為一次性載入
+        this.loadSalesSeries();
+        if (window.EventSource) {
+            this.startDashboardStream();
+        } else {
+            await this.loadDashboardStats();
+        }
 
         // 設定全域 app 參考（供 ToastUtils 使用）
         window.app = this;
@@ -69,7 +83,11 @@ const app = createApp({
             // 根據標籤載入對應資料
             switch (tab) {
                 case 'dashboard':
-                    await this.loadDashboardStats();
+                    // 推播連線中時統計資料會自動更新，不需重新請求
+                    if (!this.dashboardStream) {
+                        await this.loadDashboardStats();
+                    }
+                    await this.loadSalesSeries();
                     break;
                 case 'products':
                     await this.loadProducts();
@@ -96,6 +114,78 @@ const app = createApp({
             }
         },
 
+        /**
+         * 建立儀表板推播連線
+         * 連線後先收到完整快照，之後只收到有變動的欄位
+         */
+        startDashboardStream() {
+            const stream = new EventSource(`${API_BASE_URL}/admin/dashboard/stream`);
+
+            stream.addEventListener('snapshot', (event) => {
+                this.stats = JSON.parse(event.data);
+            });
+
+            stream.addEventListener('delta', (event) => {
+                const delta = JSON.parse(event.data);
+                this.stats = { ...this.stats, ...delta };
+                // 有新訂單或銷售額變動時一併更新趨勢圖
+                if (this.activeTab === 'dashboard' && ('todayOrdersCount' in delta || 'todaySales' in delta)) {
+                    this.loadSalesSeries();
+                }
+            });
+
+            stream.onerror = () => {
+                // 瀏覽器會自動重新連線，重新連線後會再收到完整快照
+                console.warn('儀表板推播連線中斷，嘗試重新連線...');
+            };
+
+            this.dashboardStream = stream;
+        },
+
+        /**
+         * 載入銷售趨勢資料
+         * @param {string} resolution - 時間解析度 minute、hour 或 day（省略時沿用目前設定）
+         */
+        async loadSalesSeries(resolution) {
+            if (resolution) {
+                this.seriesResolution = resolution;
+            }
+            try {
+                const response = await ApiUtils.get('/admin/metrics/sales', { resolution: this.seriesResolution });
+                if (response.success) {
+                    this.salesSeries = response.data;
+                }
+            } catch (error) {
+                console.error('載入銷售趨勢失敗:', error);
+            }
+        },
+
+        /**
+         * 將數列轉為 SVG polyline 座標
+         * @param {Array<number>} values - 數值陣列
+         * @param {number} width - 圖寬
+         * @param {number} height - 圖高
+         * @returns {string} polyline points 屬性
+         */
+        seriesPoints(values, width = 600, height = 120) {
+            if (!values || values.length === 0) return '';
+            const max = Math.max(...values.map(Number), 1);
+            const step = values.length > 1 ? width / (values.length - 1) : 0;
+            return values
+                .map((value, index) => `${(index * step).toFixed(1)},${(height - (Number(value) / max) * height).toFixed(1)}`)
+                .join(' ');
+        },
+
+        /**
+         * 加總數列
+         * @param {Array<number>} values - 數值陣列
+         * @returns {number} 總和
+         */
+        seriesTotal(values) {
+            if (!values) return 0;
+            return values.reduce((sum, value) => sum + Number(value), 0);
+        },
+
         // ===== 商品管理方法 =====
 
         /**
@@ -305,7 +395,7 @@ const app = createApp({
         // ===== 訂單管理方法 =====
 
         /**
-         * 載入訂單列表
+         * 載入訂單列表（第一頁）
          */
         async loadOrders() {
             try {
@@ -314,6 +404,9 @@ const app = createApp({
 
                 if (response.success) {
                     this.orders = response.data;
+                    this.ordersNextCursor = response.nextCursor;
+                    this.ordersTotal = response.total;
+                    this.ordersTotalApproximate = response.totalApproximate;
                 }
             } catch (error) {
                 console.error('載入訂單失敗:', error);
@@ -324,6 +417,43 @@ const app = createApp({
             }
         },
 
+        /**
+         * 載入下一頁訂單
+         */
+        async loadMoreOrders() {
+            if (!this.ordersNextCursor) {
+                return;
+            }
+            try {
+                this.loadingMoreOrders = true;
+                const response = await ApiUtils.get('/admin/orders', {
+                    ...this.orderFilters,
+                    cursor: this.ordersNextCursor
+                });
+
+                if (response.success) {
+                    this.orders.push(...response.data);
+                    this.ordersNextCursor = response.nextCursor;
+                }
+            } catch (error) {
+                console.error('載入更多訂單失敗:', error);
+                this.toastMessage = '載入更多訂單失敗';
+                ToastUtils.showError(this.toastMessage);
+            } finally {
+                this.loadingMoreOrders = false;
+            }
+        },
+
+        /**
+         * 取得訂單匯出網址（套用目前篩選條件）
+         * @param {string} format - 匯出格式 ndjson 或 csv
+         * @returns {string} 匯出網址
+         */
+        getOrderExportUrl(format) {
+            const params = new URLSearchParams({ ...this.orderFilters, format });
+            return `${API_BASE_URL}/admin/orders/export?${params.toString()}`;
+        },
+
         /**
          * 清除訂單篩選
          */
@@ -481,6 +611,12 @@ const app = createApp({
         }
     },
 
+    beforeUnmount() {
+        if (this.dashboardStream) {
+            this.dashboardStream.close();
+        }
+    },
+
     watch: {
         // 監聽篩選條件變化，自動重新載入資料
         productFilters: {
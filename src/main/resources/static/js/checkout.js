@@ -197,10 +197,15 @@ const app = createApp({
                 console.error('提交訂單失敗:', error);
 
                 let errorMessage = '訂單建立失敗，請稍後再試';
+                const data = error.response && error.response.data;
 
                 // 處理特定錯誤
-                if (error.response && error.response.data && error.response.data.message) {
-                    errorMessage = error.response.data.message;
+                if (data && data.code === 'INSUFFICIENT_STOCK' && data.productId != null) {
+                    const item = this.cartItems.find(item => item.product.id === data.productId);
+                    const name = item ? `「${item.product.name}」` : '';
+                    errorMessage = `商品${name}庫存不足，目前剩 ${data.available} 件`;
+                } else if (data && data.message) {
+                    errorMessage = data.message;
                 } else if (error.message) {
                     errorMessage = error.message;
                 }
@@ -209,7 +214,7 @@ const app = createApp({
                 ToastUtils.showError(this.toastMessage);
 
                 // 如果是庫存問題，重新載入購物車
-                if (errorMessage.includes('庫存') || errorMessage.includes('下架')) {
+                if (data && (data.code === 'INSUFFICIENT_STOCK' || data.code === 'PRODUCT_INACTIVE')) {
                     await this.loadCartItems();
                 }
 
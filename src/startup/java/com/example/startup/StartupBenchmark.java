@@ -0,0 +1,216 @@
+package com.example.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 啟動時間基準測試
+ * 以子程序啟動 mvn -Pstartup package 產生的應用程式（H2 記憶體資料庫），
+ * 從程序建立起持續呼叫 /api/products，量測到第一個成功回應（HTTP 200）的時間；
+ * 依序比較一般啟動、延遲初始化、AOT 與 AOT + AppCDS
+ *
+ * 參數（key=value）：directory、jar、runs、variants、timeout、output
+ */
+public class StartupBenchmark {
+
+    /**
+     * 比較的啟動方式（皆使用 prod 設定檔）
+     */
+    enum Variant {
+        BASELINE("baseline", false, false, false),
+        LAZY("lazy", true, false, false),
+        AOT("lazy+aot", true, true, false),
+        AOT_CDS("lazy+aot+cds", true, true, true);
+
+        private final String key;
+        private final boolean lazy;
+        private final boolean aot;
+        private final boolean cds;
+
+        Variant(String key, boolean lazy, boolean aot, boolean cds) {
+            this.key = key;
+            this.lazy = lazy;
+            this.aot = aot;
+            this.cds = cds;
+        }
+
+        static Variant of(String key) {
+            return Arrays.stream(values()).filter(v -> v.key.equals(key.trim())).findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("不支援的啟動方式：" + key));
+        }
+    }
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+
+    public static void main(String[] args) throws Exception {
+        Path directory = Path.of("target", "startup");
+        String jar = null;
+        int runs = 5;
+        List<Variant> variants = List.of(Variant.values());
+        int timeoutSeconds = 120;
+        Path output = Path.of("target", "startup-result.json");
+
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("參數格式應為 key=value：" + arg);
+            }
+            String key = arg.substring(0, separator).trim();
+            String value = arg.substring(separator + 1).trim();
+            switch (key) {
+                case "directory" -> directory = Path.of(value);
+                case "jar" -> jar = value;
+                case "runs" -> runs = Integer.parseInt(value);
+                case "variants" -> variants = Arrays.stream(value.split(",")).map(Variant::of).toList();
+                case "timeout" -> timeoutSeconds = Integer.parseInt(value);
+                case "output" -> output = Path.of(value);
+                default -> throw new IllegalArgumentException("不支援的參數：" + key);
+            }
+        }
+        if (jar == null || !Files.isRegularFile(directory.resolve(jar))) {
+            throw new IllegalArgumentException("找不到應用程式 jar，請先執行 mvn -Pstartup package：" + directory);
+        }
+        if (runs <= 0 || timeoutSeconds <= 0) {
+            throw new IllegalArgumentException("runs、timeout 必須大於0");
+        }
+        if (variants.contains(Variant.AOT_CDS) && !Files.isRegularFile(directory.resolve("application.jsa"))) {
+            throw new IllegalArgumentException("找不到 AppCDS 封存檔：" + directory.resolve("application.jsa"));
+        }
+
+        String h2Jar = Path.of(org.h2.Driver.class.getProtectionDomain().getCodeSource().getLocation().toURI())
+                .toString();
+        Map<Variant, long[]> results = new LinkedHashMap<>();
+        for (Variant variant : variants) {
+            results.put(variant, new long[runs]);
+        }
+
+        System.out.println("🚀 開始啟動時間量測：每種方式 " + runs + " 次，" + directory.resolve(jar));
+        // 各方式輪流執行，避免系統狀態（檔案快取、CPU 頻率）偏向某一種方式
+        for (int run = 0; run < runs; run++) {
+            for (Variant variant : variants) {
+                long millis = measure(directory, jar, h2Jar, variant, run, timeoutSeconds);
+                results.get(variant)[run] = millis;
+                System.out.printf("  %-14s 第 %d 次：%d ms%n", variant.key, run + 1, millis);
+            }
+        }
+        report(directory.resolve(jar), runs, results, output);
+    }
+
+    /**
+     * 啟動一次應用程式，回傳從建立程序到 /api/products 第一個 200 回應的毫秒數
+     */
+    private static long measure(Path directory, String jar, String h2Jar, Variant variant, int run,
+                                int timeoutSeconds) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (variant.cds) {
+            command.add("-XX:SharedArchiveFile=application.jsa");
+        }
+        if (variant.aot) {
+            command.add("-Dspring.aot.enabled=true");
+        }
+        // AppCDS 允許在訓練時的類別路徑之後附加項目（H2 驅動程式）
+        command.add("-classpath");
+        command.add(jar + File.pathSeparator + h2Jar);
+        command.add("com.example.OnlineShoppingSystemApplication");
+        command.add("--spring.profiles.active=prod");
+        command.add("--spring.main.lazy-initialization=" + variant.lazy);
+        command.add("--server.port=" + port);
+        command.add("--spring.datasource.url=jdbc:h2:mem:startup;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        command.add("--spring.datasource.driver-class-name=org.h2.Driver");
+        command.add("--spring.datasource.username=sa");
+        command.add("--spring.datasource.password=");
+        // 記憶體資料庫沒有事先建立的資料表
+        command.add("--spring.jpa.hibernate.ddl-auto=create");
+
+        Path log = directory.resolve("startup-" + variant.key + "-" + (run + 1) + ".log");
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/products"))
+                .timeout(Duration.ofSeconds(10)).GET().build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(directory.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            long deadline = start + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("應用程式提前結束（exit " + process.exitValue() + "），請查看 " + log);
+                }
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException e) {
+                    // 尚未開始接受連線
+                }
+                Thread.sleep(POLL_INTERVAL.toMillis());
+            }
+            throw new IllegalStateException(timeoutSeconds + " 秒內沒有成功回應，請查看 " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void report(Path jar, int runs, Map<Variant, long[]> results, Path output) throws Exception {
+        Map<String, Object> variants = new LinkedHashMap<>();
+        System.out.println();
+        System.out.printf("%-14s %9s %9s %9s%n", "variant", "min(ms)", "p50(ms)", "max(ms)");
+        for (Map.Entry<Variant, long[]> entry : results.entrySet()) {
+            long[] sorted = entry.getValue().clone();
+            Arrays.sort(sorted);
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("min", sorted[0]);
+            summary.put("p50", sorted[sorted.length / 2]);
+            summary.put("max", sorted[sorted.length - 1]);
+            summary.put("runs", entry.getValue());
+            variants.put(entry.getKey().key, summary);
+            System.out.printf("%-14s %9d %9d %9d%n", entry.getKey().key, sorted[0], sorted[sorted.length / 2],
+                    sorted[sorted.length - 1]);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("timestamp", LocalDateTime.now().toString());
+        result.put("jar", jar.toString());
+        result.put("runs", runs);
+        result.put("javaVersion", System.getProperty("java.version"));
+        result.put("variants", variants);
+
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), result);
+        System.out.println();
+        System.out.println("📄 結果已輸出至 " + output);
+    }
+}
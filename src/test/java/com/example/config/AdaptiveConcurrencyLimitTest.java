@@ -0,0 +1,84 @@
+package com.example.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 自適應同時處理數上限：額滿拒絕、延遲維持在基準時放寬、延遲上升或發生逾時時縮小
+ */
+class AdaptiveConcurrencyLimitTest {
+
+	private static final long MILLIS = 1_000_000L;
+
+	@Test
+	void rejectsWhenLimitReached() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, 1.5, 5, 60_000);
+		assertTrue(limit.tryAcquire());
+		assertTrue(limit.tryAcquire());
+		assertFalse(limit.tryAcquire(), "名額用完時應拒絕");
+		assertEquals(2, limit.getInFlight());
+
+		limit.release(5 * MILLIS, false);
+		assertTrue(limit.tryAcquire(), "釋放後應可再取得名額");
+	}
+
+	@Test
+	void growsToMaxWhileLatencyStaysAtBaseline() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 2, 100, 1.5, 10, 60_000);
+		runAtCapacity(limit, 5 * MILLIS, 5);
+		assertTrue(limit.getLimit() > 10, "延遲不變時應逐步放寬，實際 " + limit.getLimit());
+
+		runAtCapacity(limit, 5 * MILLIS, 200);
+		assertEquals(100, limit.getLimit(), "不超過 max-limit");
+	}
+
+	@Test
+	void shrinksWhenLatencyRises() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 2, 100, 1.5, 10, 60_000);
+		runAtCapacity(limit, 5 * MILLIS, 1);
+		int before = limit.getLimit();
+
+		// 延遲升到基準的 10 倍：資料庫已在排隊
+		runAtCapacity(limit, 50 * MILLIS, 5);
+		assertTrue(limit.getLimit() < before, "延遲上升時應縮小，實際 " + before + " → " + limit.getLimit());
+
+		runAtCapacity(limit, 50 * MILLIS, 200);
+		assertTrue(limit.getLimit() >= 2 && limit.getLimit() < 10, "持續排隊時收斂到接近下限，實際 " + limit.getLimit());
+	}
+
+	@Test
+	void dropShrinksImmediately() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 2, 100, 1.5, 10, 60_000);
+		assertTrue(limit.tryAcquire());
+		limit.release(5 * MILLIS, true);
+		assertEquals(18, limit.getLimit());
+	}
+
+	@Test
+	void lowUtilizationKeepsLimit() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 2, 100, 1.5, 10, 60_000);
+		for (int i = 0; i < 100; i++) {
+			assertTrue(limit.tryAcquire());
+			limit.release(i % 2 == 0 ? MILLIS : 50 * MILLIS, false);
+		}
+		assertEquals(20, limit.getLimit(), "使用量遠低於上限時延遲反映不出上限是否合適，不調整");
+	}
+
+	/**
+	 * 每一輪占滿所有名額後全部以相同耗時釋放
+	 */
+	private static void runAtCapacity(AdaptiveConcurrencyLimit limit, long rttNanos, int rounds) {
+		for (int round = 0; round < rounds; round++) {
+			int acquired = 0;
+			while (limit.tryAcquire()) {
+				acquired++;
+			}
+			for (int i = 0; i < acquired; i++) {
+				limit.release(rttNanos, false);
+			}
+		}
+	}
+}
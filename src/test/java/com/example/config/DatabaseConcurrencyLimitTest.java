@@ -0,0 +1,83 @@
+package com.example.config;
+
+import com.example.entity.Product;
+import com.example.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 資料庫同時處理數控制：上限固定為 1，結帳時 OrderService 呼叫 ProductService 的巢狀呼叫
+ * 若重複占用名額就會被自己擋下；名額被占用時 API 請求應立即回 503 與 Retry-After
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:dblimiter;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.devtools.restart.enabled=false",
+		"app.db-limiter.initial-limit=1",
+		"app.db-limiter.min-limit=1",
+		"app.db-limiter.max-limit=1"
+})
+@AutoConfigureMockMvc
+class DatabaseConcurrencyLimitTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private DatabaseConcurrencyAspect aspect;
+
+	@Test
+	void nestedServiceCallsShareOutermostPermit() throws Exception {
+		Product product = productService.findActiveProducts().stream()
+				.filter(p -> p.getStockQuantity() > 0)
+				.findFirst().orElseThrow();
+
+		mockMvc.perform(post("/api/orders")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("""
+								{"customerName":"王小明","customerPhone":"0912-345-678","customerAddress":"台北市中山路1號",
+								 "cartItems":{"%d":1}}""".formatted(product.getId())))
+				.andExpect(status().isCreated())
+				.andExpect(jsonPath("$.success").value(true));
+
+		assertEquals(0, concurrencyLimit().getInFlight(), "請求結束後名額應全部釋放");
+	}
+
+	@Test
+	void rejectsWithRetryAfterWhenFull() throws Exception {
+		AdaptiveConcurrencyLimit limit = concurrencyLimit();
+		assertTrue(limit.tryAcquire());
+		try {
+			mockMvc.perform(get("/api/products"))
+					.andExpect(status().isServiceUnavailable())
+					.andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+					.andExpect(jsonPath("$.code").value("SERVICE_BUSY"));
+		} finally {
+			limit.release(0, false);
+		}
+		mockMvc.perform(get("/api/products")).andExpect(status().isOk());
+	}
+
+	private AdaptiveConcurrencyLimit concurrencyLimit() {
+		return (AdaptiveConcurrencyLimit) ReflectionTestUtils.getField(aspect, "concurrencyLimit");
+	}
+}
@@ -0,0 +1,134 @@
+package com.example.config;
+
+import com.example.OnlineShoppingSystemApplication;
+import com.example.entity.Money;
+import com.example.entity.Product;
+import com.example.service.OrderService;
+import com.example.service.ProductService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 多節點商品快取同步測試：同一個 H2 記憶體資料庫上啟動三個應用程式，各自有獨立的二級快取，
+ * 輪詢由測試手動觸發，藉此觀察同步前後的快取內容
+ */
+class ProductCacheSyncTest {
+
+	static final String DATABASE_URL = "jdbc:h2:mem:multinode;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+	private static final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+
+	@BeforeAll
+	static void startNodes() {
+		for (int i = 1; i <= 3; i++) {
+			nodes.add(new SpringApplicationBuilder(OnlineShoppingSystemApplication.class).run(
+					"--spring.datasource.url=" + DATABASE_URL,
+					"--spring.datasource.driver-class-name=org.h2.Driver",
+					"--spring.datasource.username=sa",
+					"--spring.datasource.password=",
+					// 第一個節點建立資料表，之後的節點沿用，關閉時也不刪除
+					"--spring.jpa.hibernate.ddl-auto=update",
+					"--spring.devtools.restart.enabled=false",
+					"--server.port=0",
+					"--app.product-sync.node-id=node-" + i,
+					"--app.product-sync.poll-interval-ms=3600000"));
+		}
+	}
+
+	@AfterAll
+	static void stopNodes() {
+		nodes.forEach(ConfigurableApplicationContext::close);
+	}
+
+	@Test
+	void remoteUpdateEvictsOnlyChangedProducts() {
+		List<Product> products = productService(0).findActiveProducts();
+		Long changedId = products.get(0).getId();
+		Long untouchedId = products.get(1).getId();
+		Money originalPrice = productService(1).findProductById(changedId).orElseThrow().getPrice();
+		productService(1).findProductById(untouchedId);
+		productService(2).findProductById(changedId);
+
+		Product product = productService(0).findProductById(changedId).orElseThrow();
+		Money newPrice = originalPrice.plus(Money.of(1000));
+		product.setPrice(newPrice);
+		productService(0).saveProduct(product);
+
+		assertEquals(originalPrice, productService(1).findProductById(changedId).orElseThrow().getPrice(),
+				"同步前其他節點仍由本機快取讀到舊價格");
+
+		synchronizer(1).poll();
+		synchronizer(2).poll();
+
+		assertFalse(cache(1).containsEntity(Product.class, changedId), "異動的商品應被逐出");
+		assertTrue(cache(1).containsEntity(Product.class, untouchedId), "未異動的商品應保留在快取中");
+		assertEquals(newPrice, productService(1).findProductById(changedId).orElseThrow().getPrice());
+		assertEquals(newPrice, productService(2).findProductById(changedId).orElseThrow().getPrice());
+	}
+
+	@Test
+	void remoteNewCategoryRefreshesCategoryList() {
+		assertFalse(productService(1).findAllCategories().contains("同步測試分類"));
+
+		productService(0).saveProduct(new Product("同步測試商品", "同步測試分類", Money.of(100), "sync"));
+		synchronizer(1).poll();
+
+		assertTrue(productService(1).findAllCategories().contains("同步測試分類"));
+	}
+
+	@Test
+	void stockChangesFromDifferentNodesAreNotLost() {
+		Long productId = productService(0).findActiveProducts().get(2).getId();
+		int stock = productService(1).findProductById(productId).orElseThrow().getStockQuantity();
+
+		productService(0).reduceStock(productId, 1);
+		// 第二個節點的快取仍是舊庫存，扣庫存時必須讀資料庫而不是快取
+		productService(1).reduceStock(productId, 1);
+
+		synchronizer(0).poll();
+		assertEquals(stock - 2, productService(0).findProductById(productId).orElseThrow().getStockQuantity());
+	}
+
+	@Test
+	void checkoutOnStaleNodeDeductsFromCurrentStock() {
+		Long productId = productService(0).findActiveProducts().get(3).getId();
+		int stock = productService(1).findProductById(productId).orElseThrow().getStockQuantity();
+
+		productService(0).reduceStock(productId, 1);
+		// 第二個節點的快取仍是舊庫存，結帳檢查與扣減庫存都必須以資料庫為準
+		orderService(1).createOrder("同步測試", null, "0900000000", "台北", Map.of(productId, 1), null);
+
+		synchronizer(0).poll();
+		assertEquals(stock - 2, productService(0).findProductById(productId).orElseThrow().getStockQuantity());
+	}
+
+	private static ProductService productService(int node) {
+		return nodes.get(node).getBean(ProductService.class);
+	}
+
+	private static OrderService orderService(int node) {
+		return nodes.get(node).getBean(OrderService.class);
+	}
+
+	private static ProductCacheSynchronizer synchronizer(int node) {
+		return nodes.get(node).getBean(ProductCacheSynchronizer.class);
+	}
+
+	private static Cache cache(int node) {
+		return nodes.get(node).getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getCache();
+	}
+}
@@ -0,0 +1,54 @@
+package com.example.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 查詢預算測試：測試環境為 fail 模式，主要端點超出預算或出現 N+1 查詢時請求直接失敗
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:budget;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.devtools.restart.enabled=false",
+		"app.query-budget.endpoints[/api/categories]=0"
+})
+@AutoConfigureMockMvc
+class QueryBudgetTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void checkoutAndOrderListsStayWithinBudget() throws Exception {
+		for (int i = 0; i < 6; i++) {
+			mockMvc.perform(post("/api/orders")
+							.contentType(MediaType.APPLICATION_JSON)
+							.content("{\"customerName\":\"測試\",\"customerPhone\":\"0911000000\"," +
+									"\"customerAddress\":\"台北\",\"cartItems\":{\"1\":1,\"2\":1,\"3\":1,\"4\":1,\"5\":1,\"6\":1}}"))
+					.andExpect(status().isCreated());
+		}
+
+		mockMvc.perform(get("/api/products")).andExpect(status().isOk());
+		mockMvc.perform(get("/api/orders/customer").param("phone", "0911000000")).andExpect(status().isOk());
+		mockMvc.perform(get("/api/admin/orders")).andExpect(status().isOk());
+		mockMvc.perform(get("/api/admin/dashboard")).andExpect(status().isOk());
+	}
+
+	@Test
+	void requestOverBudgetFails() {
+		Exception exception = assertThrows(Exception.class, () -> mockMvc.perform(get("/api/categories")));
+		assertInstanceOf(QueryBudgetExceededException.class, exception.getCause());
+	}
+}
@@ -0,0 +1,123 @@
+package com.example.config;
+
+import com.example.entity.Money;
+import com.example.entity.Product;
+import com.example.service.ProductService;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 讀寫分離路由測試：以兩個 H2 記憶體資料庫分別模擬主庫與複本，
+ * 「複寫」由測試手動觸發，藉此模擬複本延遲
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=" + ReadWriteRoutingTest.PRIMARY_URL,
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"app.datasource.replica.url=" + ReadWriteRoutingTest.REPLICA_URL,
+		"app.datasource.replica.driver-class-name=org.h2.Driver",
+		"app.datasource.replica.username=sa",
+		"app.datasource.replica.password=",
+		"spring.devtools.restart.enabled=false"
+})
+@AutoConfigureMockMvc
+class ReadWriteRoutingTest {
+
+	static final String PRIMARY_URL = "jdbc:h2:mem:primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+	static final String REPLICA_URL = "jdbc:h2:mem:replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	/**
+	 * 主庫建立資料表後，先將結構複寫到複本
+	 */
+	@TestConfiguration
+	static class ReplicaSchemaConfig {
+		@Bean
+		ApplicationListener<ContextRefreshedEvent> replicaSchemaInitializer() {
+			return event -> replicate();
+		}
+	}
+
+	@Test
+	void readOnlyQueriesUseReplicaUntilReplicated() throws Exception {
+		Product product = productService.saveProduct(
+				new Product("路由測試商品", "測試", Money.of(100), "routing"));
+
+		assertFalse(productService.findProductById(product.getId()).isPresent(), "複本尚未同步，不應查到新商品");
+
+		replicate();
+		assertTrue(productService.findProductById(product.getId()).isPresent(), "同步後應由複本查到新商品");
+	}
+
+	@Test
+	void customerSeesOwnOrderRightAfterCheckout() throws Exception {
+		replicate();
+		MvcResult checkout = mockMvc.perform(post("/api/orders")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"customerName\":\"測試\",\"customerPhone\":\"0912000000\"," +
+								"\"customerAddress\":\"台北\",\"cartItems\":{\"1\":1}}"))
+				.andExpect(status().isCreated())
+				.andReturn();
+
+		Cookie pin = checkout.getResponse().getCookie(ReadYourWrites.COOKIE_NAME);
+		assertNotNull(pin, "寫入後應設定固定走主庫的 Cookie");
+		String orderId = checkout.getResponse().getContentAsString().replaceAll(".*?\"id\":(\\d+).*", "$1");
+
+		// 帶 Cookie 的下單者讀主庫，立即看得到自己的訂單
+		mockMvc.perform(get("/api/orders/" + orderId).cookie(pin))
+				.andExpect(status().isOk());
+
+		// 其他用戶端仍讀複本，在複寫前看不到
+		mockMvc.perform(get("/api/orders/" + orderId))
+				.andExpect(status().isNotFound());
+	}
+
+	/**
+	 * 將主庫完整複製到複本
+	 */
+	private static void replicate() {
+		try {
+			Path script = Files.createTempFile("replica", ".sql");
+			try (Connection primary = DriverManager.getConnection(PRIMARY_URL, "sa", "");
+				 Statement statement = primary.createStatement()) {
+				statement.execute("SCRIPT DROP TO '" + script + "'");
+			}
+			try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+				 Statement statement = replica.createStatement()) {
+				statement.execute("RUNSCRIPT FROM '" + script + "'");
+			}
+			Files.deleteIfExists(script);
+		} catch (Exception e) {
+			throw new IllegalStateException("複寫失敗", e);
+		}
+	}
+}
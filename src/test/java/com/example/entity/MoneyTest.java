@@ -0,0 +1,44 @@
+package com.example.entity;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 金額運算與轉換的進位規則
+ */
+class MoneyTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void decimalsRoundHalfUpToCents() {
+		assertEquals(1235, Money.of(new BigDecimal("12.345")).cents());
+		assertEquals(1234, Money.of(new BigDecimal("12.3449")).cents());
+		assertEquals(-1235, Money.of(new BigDecimal("-12.345")).cents());
+		assertEquals(new BigDecimal("12.30"), Money.of(new BigDecimal("12.3")).toBigDecimal());
+	}
+
+	@Test
+	void arithmeticIsExactAndFailsOnOverflow() {
+		Money price = Money.ofCents(1999);
+		assertEquals(Money.ofCents(5997), price.times(3));
+		assertEquals(Money.ofCents(7996), price.times(3).plus(price));
+		assertEquals(Money.ZERO, price.minus(price));
+		assertThrows(ArithmeticException.class, () -> Money.ofCents(Long.MAX_VALUE).plus(Money.ofCents(1)));
+		assertThrows(ArithmeticException.class, () -> Money.ofCents(Long.MAX_VALUE / 2).times(3));
+	}
+
+	@Test
+	void jsonUsesPlainNumbers() throws Exception {
+		assertEquals("39900", objectMapper.writeValueAsString(Money.of(39900)));
+		assertEquals("12.50", objectMapper.writeValueAsString(Money.ofCents(1250)));
+		assertEquals(Money.ofCents(1235), objectMapper.readValue("12.345", Money.class));
+		assertEquals(Money.of(100), objectMapper.readValue("100", Money.class));
+		assertEquals(Money.ofCents(990), objectMapper.readValue("\"9.90\"", Money.class));
+	}
+}
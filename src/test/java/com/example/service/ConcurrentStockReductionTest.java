@@ -0,0 +1,95 @@
+package com.example.service;
+
+import com.example.entity.Product;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 同時扣減庫存：多個執行緒同時扣同一商品，成功次數不得超過庫存，庫存不會變成負數
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:stock;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.devtools.restart.enabled=false"
+})
+class ConcurrentStockReductionTest {
+
+	private static final int STOCK = 20;
+	private static final int BUYERS = 50;
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void concurrentReductionsNeverOversell() throws Exception {
+		Long productId = productService.findActiveProducts().get(0).getId();
+		productService.updateStock(productId, STOCK);
+		// 先讓商品進入二級快取，確認扣減提交後本機快取不會留下舊庫存
+		productService.findProductById(productId);
+		assertTrue(entityManagerFactory.getCache().contains(Product.class, productId));
+
+		AtomicInteger succeeded = new AtomicInteger();
+		AtomicInteger insufficient = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(BUYERS);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < BUYERS; i++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					try {
+						productService.reduceStock(productId, 1);
+						succeeded.incrementAndGet();
+					} catch (InsufficientStockException e) {
+						insufficient.incrementAndGet();
+						assertEquals(productId, e.getProductId());
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		assertEquals(STOCK, succeeded.get(), "成功扣減的次數應等於原有庫存");
+		assertEquals(BUYERS - STOCK, insufficient.get());
+		assertEquals(0, productService.findProductById(productId).orElseThrow().getStockQuantity());
+	}
+
+	@Test
+	void reductionBeyondStockFailsWithCurrentStock() {
+		Long productId = productService.findActiveProducts().get(1).getId();
+		productService.updateStock(productId, 3);
+
+		InsufficientStockException e = assertThrows(InsufficientStockException.class,
+				() -> productService.reduceStock(productId, 5));
+		assertEquals(3, e.getAvailable());
+
+		productService.increaseStock(productId, 2);
+		productService.reduceStock(productId, 5);
+		assertEquals(0, productService.findProductById(productId).orElseThrow().getStockQuantity());
+	}
+}
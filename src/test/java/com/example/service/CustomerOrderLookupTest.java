@@ -0,0 +1,52 @@
+package com.example.service;
+
+import com.example.entity.Order;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 客戶訂單查詢測試：同一支電話同時有近期訂單與已封存的歷史訂單
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:lookup;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.devtools.restart.enabled=false"
+})
+class CustomerOrderLookupTest {
+
+	private static final String PHONE = "0933-111-222";
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private OrderArchiveService orderArchiveService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void phoneLookupReturnsHotAndArchivedOrders() {
+		Order archived = orderService.createOrder("舊客戶", null, PHONE, "台北", Map.of(1L, 1), null);
+		orderService.cancelOrder(archived.getId());
+		jdbcTemplate.update("UPDATE orders SET order_date = ? WHERE id = ?",
+				LocalDateTime.now().minusDays(365), archived.getId());
+		assertEquals(1, orderArchiveService.archiveOldOrders());
+
+		Order hot = orderService.createOrder("舊客戶", null, PHONE, "台北", Map.of(2L, 1), null);
+
+		List<Order> orders = orderService.findCustomerOrders(null, "0933111222");
+		assertEquals(List.of(hot.getId(), archived.getId()), orders.stream().map(Order::getId).toList(),
+				"近期訂單在前，封存訂單在後");
+	}
+}
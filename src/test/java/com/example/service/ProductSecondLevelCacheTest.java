@@ -0,0 +1,50 @@
+package com.example.service;
+
+import com.example.entity.Product;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 商品二級快取測試：以 Hibernate Statistics 確認批次查詢是否由快取取得
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:l2cache;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.devtools.restart.enabled=false"
+})
+class ProductSecondLevelCacheTest {
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void findProductsByIdsReadsCachedProductsFromSecondLevelCache() {
+		List<Long> ids = productService.findActiveProducts().stream().limit(3).map(Product::getId).toList();
+		SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+		sessionFactory.getCache().evictEntityData(Product.class);
+		productService.findProductById(ids.get(0));
+		productService.findProductById(ids.get(1));
+
+		Statistics statistics = sessionFactory.getStatistics();
+		statistics.clear();
+		Map<Long, Product> products = productService.findProductsByIds(ids);
+
+		assertEquals(3, products.size());
+		assertEquals(2, statistics.getSecondLevelCacheHitCount(), "已快取的商品由二級快取取得");
+		assertEquals(1, statistics.getPrepareStatementCount(), "只有未快取的商品查詢資料庫");
+	}
+}